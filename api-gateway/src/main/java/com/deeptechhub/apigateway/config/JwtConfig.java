@@ -1,8 +1,11 @@
 package com.deeptechhub.apigateway.config;
 
 import com.deeptechhub.common.security.JwtServiceImpl;
+import com.deeptechhub.common.security.VerifiedTokenCache;
 import io.jsonwebtoken.io.Decoders;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
@@ -28,9 +31,20 @@ public class JwtConfig {
     private final JwtProperties jwtProperties;
 
     @Bean
-    public JwtServiceImpl jwtService() throws IOException {
+    public JwtServiceImpl jwtService(ObjectProvider<VerifiedTokenCache> verifiedTokenCache) throws IOException {
         String secret = Files.readString(ResourceUtils.getFile(jwtProperties.getSecretFile()).toPath()).trim();
-        return new JwtServiceImpl(secret, jwtProperties.getAccessTokenExpiryMs(), jwtProperties.getRefreshTokenExpiryMs());
+        return new JwtServiceImpl(secret, jwtProperties.getAccessTokenExpiryMs(), jwtProperties.getRefreshTokenExpiryMs(),
+                verifiedTokenCache.getIfAvailable());
+    }
+
+    /**
+     * Lets a client reusing its access token skip signature verification after the first request.
+     * Also used by the token blacklist, which evicts revoked tokens from it.
+     */
+    @Bean
+    @ConditionalOnExpression("${jwt.verified-token-cache-size:10000} > 0")
+    public VerifiedTokenCache verifiedTokenCache() {
+        return new VerifiedTokenCache(jwtProperties.getVerifiedTokenCacheSize());
     }
 
     @Bean
@@ -14,4 +14,6 @@ public class JwtProperties {
     private long accessTokenExpiryMs;
     private long refreshTokenExpiryMs = 604800000; // default: 7 days
     private List<String> excludePaths;
+    private boolean statelessAuth; // Trust uid/role claims of access tokens instead of asking identity-service
+    private long verifiedTokenCacheSize = 10_000; // Verified tokens kept in memory, 0 verifies every request
 }
@@ -2,8 +2,10 @@ package com.deeptechhub.apigateway.config;
 
 import com.deeptechhub.apigateway.util.JsonRedisSerializer;
 import com.deeptechhub.common.security.TokenBlacklistService;
+import com.deeptechhub.common.security.VerifiedTokenCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.models.OpenAPI;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
@@ -26,8 +28,9 @@ public class RedisConfig {
     }
 
     @Bean
-    public TokenBlacklistService tokenBlacklistService(StringRedisTemplate redisTemplate) {
-        return new TokenBlacklistService(redisTemplate);
+    public TokenBlacklistService tokenBlacklistService(StringRedisTemplate redisTemplate,
+                                                       ObjectProvider<VerifiedTokenCache> verifiedTokenCache) {
+        return new TokenBlacklistService(redisTemplate, verifiedTokenCache.getIfAvailable());
     }
 
     /**
@@ -1,16 +1,17 @@
 package com.deeptechhub.apigateway.dto;
 
 import com.deeptechhub.common.dto.UserDto;
+import com.deeptechhub.common.security.VerifiedToken;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import java.util.List;
 
 public class JwtAuthenticationToken extends AbstractAuthenticationToken {
-    private final String token;
+    private final VerifiedToken token;
     private final UserDto user;
 
-    public JwtAuthenticationToken(String token, UserDto user) {
+    public JwtAuthenticationToken(VerifiedToken token, UserDto user) {
         super(List.of(new SimpleGrantedAuthority(user.getRole().getAuthority())));
         this.token = token;
         this.user = user;
@@ -24,6 +25,7 @@ public class JwtAuthenticationToken extends AbstractAuthenticationToken {
 
     @Override
     public Object getPrincipal() {
-        return user.getEmail();
+        // Users built from token claims carry no email
+        return user.getEmail() != null ? user.getEmail() : user.getUsername();
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.deeptechhub.apigateway.dto.JwtAuthenticationToken;
 import com.deeptechhub.common.dto.UserDto;
 import com.deeptechhub.common.security.JwtService;
 import com.deeptechhub.common.security.TokenBlacklistService;
+import com.deeptechhub.common.security.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -76,33 +77,44 @@ public class JwtAuthFilter implements WebFilter {
 
     private Mono<Void> validateTokenAndProceed(ServerWebExchange exchange, WebFilterChain chain, String token) {
         try {
-            String username = jwtService.extractUsername(token);
+            // Parse the token once; the verified claims are used for the rest of the request
+            VerifiedToken verifiedToken = jwtService.verify(token);
+            String username = verifiedToken.username();
             if (username == null) {
                 return unauthorized(exchange, "Invalid token");
             }
 
+            // In stateless auth mode the user comes from the token; older tokens without the claims fall back to the lookup
+            UserDto claimedUser = jwtProperties.isStatelessAuth() ? verifiedToken.user().orElse(null) : null;
+            if (claimedUser != null) {
+                return processValidToken(exchange, chain, verifiedToken, claimedUser);
+            }
+
             return identityServiceClient.getUserByUsername(username, token)
-                    .flatMap(user -> processValidToken(exchange, chain, token, user))
+                    .flatMap(user -> processValidToken(exchange, chain, verifiedToken, user))
                     .onErrorResume(e -> handleAuthenticationError(exchange, e));
         } catch (Exception e) {
             return unauthorized(exchange, "Token validation failed");
         }
     }
 
-    private Mono<Void> processValidToken(ServerWebExchange exchange, WebFilterChain chain, String token, UserDto user) {
-        if (!jwtService.isTokenValid(token, user.getUsername())) {
+    private Mono<Void> processValidToken(ServerWebExchange exchange, WebFilterChain chain, VerifiedToken verifiedToken,
+                                         UserDto user) {
+        if (!verifiedToken.isValidFor(user.getUsername())) {
             return unauthorized(exchange, "Invalid token for user");
         }
 
         // Create authentication object
-        JwtAuthenticationToken auth = new JwtAuthenticationToken(token, user);
+        JwtAuthenticationToken auth = new JwtAuthenticationToken(verifiedToken, user);
 
-        // Mutate request with headers
-        ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
+        // Mutate request with headers; the email is not part of the token claims
+        ServerHttpRequest.Builder requestBuilder = exchange.getRequest().mutate()
                 .header("X-User-Id", user.getId().toString())
-                .header("X-User-Email", user.getEmail())
-                .header("X-User-Roles", user.getRole().name())
-                .build();
+                .header("X-User-Roles", user.getRole().name());
+        if (user.getEmail() != null) {
+            requestBuilder.header("X-User-Email", user.getEmail());
+        }
+        ServerHttpRequest mutatedRequest = requestBuilder.build();
 
         // Continue with the authenticated context
         return chain.filter(exchange.mutate().request(mutatedRequest).build())
@@ -3,6 +3,9 @@ package com.deeptechhub.common;
 public final class CommonApplicationConstants {
     public static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
     public static final String CORRELATION_ID_MDC_KEY = "correlationId";
+    // Access token claims that let services authenticate a request without looking up the user
+    public static final String JWT_USER_ID_CLAIM = "uid";
+    public static final String JWT_ROLE_CLAIM = "role";
     private CommonApplicationConstants() {} // Prevents instantiation
 
 }
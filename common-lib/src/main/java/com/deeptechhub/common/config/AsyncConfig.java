@@ -0,0 +1,22 @@
+package com.deeptechhub.common.config;
+
+import com.deeptechhub.common.logging.ContextPropagatingTaskDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Async methods and async MVC requests run on the auto-configured applicationTaskExecutor, which uses a
+ * virtual thread per task when spring.threads.virtual.enabled is set and a bounded pool otherwise.
+ * Either way the tasks see the correlation id and the authenticated user of the request that submitted them.
+ * Services import it from their application class.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+}
@@ -0,0 +1,42 @@
+package com.deeptechhub.common.logging;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+
+/**
+ * Carries the MDC (correlation id) and the SecurityContext of the submitting thread over to tasks run by
+ * an executor, whether on pooled platform threads or on a virtual thread per task.
+ * Whatever the worker thread held before is put back once the task is done, so nothing leaks into the next task.
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        return () -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            setMdc(mdc);
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                runnable.run();
+            } finally {
+                setMdc(previousMdc);
+                SecurityContextHolder.setContext(previousSecurityContext);
+            }
+        };
+    }
+
+    private static void setMdc(Map<String, String> contextMap) {
+        if(contextMap == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(contextMap);
+        }
+    }
+}
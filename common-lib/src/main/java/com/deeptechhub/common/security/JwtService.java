@@ -8,6 +8,11 @@ public interface JwtService {
 
     boolean isTokenValid(String token, String username);
 
+    /**
+     * Verifies the signature of a token and reads its claims in a single parse.
+     */
+    VerifiedToken verify(String token);
+
     String generateAccessToken(String username);
 
     String generateRefreshToken(String username);
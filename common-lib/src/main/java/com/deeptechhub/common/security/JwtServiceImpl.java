@@ -5,30 +5,41 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
-import java.util.function.Function;
 
 @Service
 public class JwtServiceImpl implements JwtService {
     private final String jwtSecret;
     private final long accessTokenExpiryMs;
     private final long refreshTokenExpiryMs;
+    private final VerifiedTokenCache verifiedTokenCache;
     private SecretKey secretKey;
     private JwtParser jwtParser;
 
+    @Autowired
     public JwtServiceImpl(
             //@Qualifier("jwtSecret") String jwtSecret,
             @Value("${jwt.secret}") String jwtSecret,
             @Value("${jwt.accessTokenExpiryMs}") long accessTokenExpiryMs,
             @Value("${jwt.refreshTokenExpiryMs}") long refreshTokenExpiryMs) {
+        this(jwtSecret, accessTokenExpiryMs, refreshTokenExpiryMs, null);
+    }
+
+    /**
+     * @param verifiedTokenCache cache of already verified tokens, or null to verify every token
+     */
+    public JwtServiceImpl(String jwtSecret, long accessTokenExpiryMs, long refreshTokenExpiryMs,
+                          VerifiedTokenCache verifiedTokenCache) {
         this.jwtSecret = jwtSecret;
         this.accessTokenExpiryMs = accessTokenExpiryMs;
         this.refreshTokenExpiryMs = refreshTokenExpiryMs;
+        this.verifiedTokenCache = verifiedTokenCache;
         initialize();
     }
 
@@ -44,13 +55,23 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public String extractUsername(String token) {
-        return getClaim(token, Claims::getSubject);
+        return verify(token).username();
     }
 
     @Override
     public boolean isTokenValid(String token, String username) {
-        final String usernameFromToken = extractUsername(token);
-        return usernameFromToken.equals(username) && !isTokenExpired(token);
+        return verify(token).isValidFor(username);
+    }
+
+    @Override
+    public VerifiedToken verify(String token) {
+        return verifiedTokenCache == null
+                ? parse(token)
+                : verifiedTokenCache.get(token, this::parse);
+    }
+
+    private VerifiedToken parse(String token) {
+        return VerifiedToken.of(token, getAllClaims(token));
     }
 
     @Override
@@ -75,15 +96,6 @@ public class JwtServiceImpl implements JwtService {
                 .compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        return getClaim(token, Claims::getExpiration).before(new Date());
-    }
-
-    private <T> T getClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
     private Claims getAllClaims(String token) {
         try {
             return jwtParser.parseSignedClaims(token).getPayload();
@@ -1,5 +1,6 @@
 package com.deeptechhub.common.security;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
@@ -9,17 +10,39 @@ import java.time.Duration;
 @Service
 public class TokenBlacklistService {
     private final RedisTemplate<String, String> redisTemplate;
+    private final VerifiedTokenCache verifiedTokenCache;
 
+    @Autowired
     public TokenBlacklistService(@Qualifier("redisTemplate")
                                  RedisTemplate<String, String> redisTemplate) {
+        this(redisTemplate, null);
+    }
+
+    /**
+     * @param verifiedTokenCache cache to drop blacklisted tokens from, or null when tokens are not cached
+     */
+    public TokenBlacklistService(RedisTemplate<String, String> redisTemplate, VerifiedTokenCache verifiedTokenCache) {
         this.redisTemplate = redisTemplate;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     public void blacklistToken(String token, Duration ttl) {
         redisTemplate.opsForValue().set(token, "blacklisted", ttl);
+        evictVerified(token);
     }
 
     public boolean isTokenBlacklisted(String token) {
-        return Boolean.TRUE.equals(redisTemplate.hasKey(token));
+        boolean blacklisted = Boolean.TRUE.equals(redisTemplate.hasKey(token));
+        // Tokens may be blacklisted by another service, so drop them here as soon as Redis says so
+        if(blacklisted) {
+            evictVerified(token);
+        }
+        return blacklisted;
+    }
+
+    private void evictVerified(String token) {
+        if(verifiedTokenCache != null) {
+            verifiedTokenCache.evict(token);
+        }
     }
 }
@@ -0,0 +1,57 @@
+package com.deeptechhub.common.security;
+
+import com.deeptechhub.common.dto.Role;
+import com.deeptechhub.common.dto.UserDto;
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static com.deeptechhub.common.CommonApplicationConstants.JWT_ROLE_CLAIM;
+import static com.deeptechhub.common.CommonApplicationConstants.JWT_USER_ID_CLAIM;
+
+/**
+ * A JWT whose signature has been verified, together with the claims the services read from it.
+ * It is created once per request and then kept as the credentials of the authentication,
+ * so the token never has to be parsed again.
+ */
+public record VerifiedToken(String token, String username, Long userId, Role role, Instant expiresAt) {
+
+    public static VerifiedToken of(String token, Claims claims) {
+        Number userId = claims.get(JWT_USER_ID_CLAIM, Number.class);
+        String role = claims.get(JWT_ROLE_CLAIM, String.class);
+        return new VerifiedToken(token, claims.getSubject(),
+                userId == null ? null : userId.longValue(),
+                role == null ? null : Role.valueOf(role),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+
+    public boolean isValidFor(String username) {
+        return this.username != null && this.username.equals(username) && !isExpired();
+    }
+
+    /**
+     * The user carried by the uid and role claims, or an empty Optional for tokens issued without them.
+     */
+    public Optional<UserDto> user() {
+        if(userId == null || role == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(UserDto.builder()
+                .id(userId)
+                .username(username)
+                .role(role)
+                .build());
+    }
+
+    @Override
+    public String toString() {
+        // Keep the raw token out of logs
+        return "VerifiedToken[username=" + username + ", userId=" + userId + ", role=" + role + ", expiresAt=" + expiresAt + "]";
+    }
+}
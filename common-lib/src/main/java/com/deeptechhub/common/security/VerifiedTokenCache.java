@@ -0,0 +1,94 @@
+package com.deeptechhub.common.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded in-memory cache of verified tokens, so a client reusing its access token
+ * pays for the signature check only once.
+ * Entries are keyed by the SHA-256 digest of the token, never by the token itself,
+ * and expire no later than the exp claim of the token they hold.
+ * A token evicted while it is being verified, because it was blacklisted meanwhile, is not cached.
+ */
+public class VerifiedTokenCache {
+    private final Cache<String, VerifiedToken> cache;
+    private final Clock clock;
+    private final AtomicLong evictions = new AtomicLong(); // Generation stamp of the verifications in flight
+
+    public VerifiedTokenCache(long maxSize) {
+        this(maxSize, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(long maxSize, Ticker ticker, Clock clock) {
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String digest, VerifiedToken token) -> timeToLive(token)))
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Returns the cached verification of the token, or verifies it and caches the result.
+     * Concurrent callers with the same token wait for a single verification.
+     * Tokens failing verification are never cached, the exception propagates to the caller.
+     */
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        String digest = digest(token);
+        long evictionsBefore = evictions.get();
+        AtomicBoolean verifiedNow = new AtomicBoolean();
+        VerifiedToken verified = cache.get(digest, key -> {
+            verifiedNow.set(true);
+            return verifier.apply(token);
+        });
+
+        // An eviction that ran before the entry was stored would otherwise be lost. Not knowing which token
+        // was evicted, drop what was just verified; the next call verifies it again.
+        if(verifiedNow.get() && evictions.get() != evictionsBefore) {
+            cache.asMap().remove(digest, verified);
+        }
+        return verified;
+    }
+
+    public void evict(String token) {
+        evictions.incrementAndGet();
+        cache.invalidate(digest(token));
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private Duration timeToLive(VerifiedToken token) {
+        // Tokens without an exp claim are not kept at all
+        if(token.expiresAt() == null) {
+            return Duration.ZERO;
+        }
+
+        Duration untilExpiry = Duration.between(Instant.now(clock), token.expiresAt());
+        return untilExpiry.isNegative() ? Duration.ZERO : untilExpiry;
+    }
+
+    static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.deeptechhub.common.security;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VerifiedTokenCacheTest {
+    private final FakeTime time = new FakeTime(Instant.parse("2025-06-01T12:00:00Z"));
+    private final AtomicInteger verifications = new AtomicInteger();
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache(100, time, time);
+    }
+
+    @Test
+    void keepsTokensNoLongerThanTheirExpiry() {
+        Function<String, VerifiedToken> verifier = expiringIn(Duration.ofSeconds(30));
+
+        cache.get("token", verifier);
+        time.advance(Duration.ofSeconds(29));
+        cache.get("token", verifier);
+        assertThat(verifications).hasValue(1);
+
+        time.advance(Duration.ofSeconds(2));
+        cache.get("token", verifier);
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void doesNotKeepTokensWithoutExpiry() {
+        Function<String, VerifiedToken> verifier = token -> {
+            verifications.incrementAndGet();
+            return new VerifiedToken(token, "alice", 1L, null, null);
+        };
+
+        cache.get("token", verifier);
+        cache.get("token", verifier);
+
+        assertThat(verifications).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void doesNotKeepTokensFailingVerification() {
+        Function<String, VerifiedToken> verifier = token -> {
+            verifications.incrementAndGet();
+            throw new IllegalArgumentException("Bad signature");
+        };
+
+        assertThatThrownBy(() -> cache.get("token", verifier)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cache.get("token", verifier)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void holdsAtMostMaxSizeTokens() {
+        VerifiedTokenCache small = new VerifiedTokenCache(10, time, time);
+        for (int i = 0; i < 50; i++) {
+            small.get("token" + i, expiringIn(Duration.ofMinutes(5)));
+        }
+
+        assertThat(small.size()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void forgetsBlacklistedTokens() {
+        RedisTemplate<String, String> redisTemplate = redisTemplate(false);
+        TokenBlacklistService blacklist = new TokenBlacklistService(redisTemplate, cache);
+        Function<String, VerifiedToken> verifier = expiringIn(Duration.ofMinutes(5));
+
+        cache.get("token", verifier);
+        blacklist.blacklistToken("token", Duration.ofMinutes(5));
+        cache.get("token", verifier);
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void forgetsTokensBlacklistedByAnotherService() {
+        TokenBlacklistService blacklist = new TokenBlacklistService(redisTemplate(true), cache);
+        Function<String, VerifiedToken> verifier = expiringIn(Duration.ofMinutes(5));
+
+        cache.get("token", verifier);
+        assertThat(blacklist.isTokenBlacklisted("token")).isTrue();
+        cache.get("token", verifier);
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void doesNotKeepTokensEvictedWhileBeingVerified() throws InterruptedException {
+        CountDownLatch verifying = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        Function<String, VerifiedToken> slowVerifier = token -> {
+            verifying.countDown();
+            try {
+                // The eviction may also wait for the verification to finish, hence the timeout
+                evicted.await(200, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return expiringIn(Duration.ofMinutes(5)).apply(token);
+        };
+
+        Thread blacklisting = new Thread(() -> {
+            try {
+                verifying.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            cache.evict("token");
+            evicted.countDown();
+        });
+        blacklisting.start();
+        cache.get("token", slowVerifier);
+        blacklisting.join();
+
+        cache.get("token", expiringIn(Duration.ofMinutes(5)));
+        assertThat(verifications).hasValue(2);
+    }
+
+    private Function<String, VerifiedToken> expiringIn(Duration ttl) {
+        return token -> {
+            verifications.incrementAndGet();
+            return new VerifiedToken(token, "alice", 1L, null, Instant.now(time).plus(ttl));
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisTemplate<String, String> redisTemplate(boolean blacklisted) {
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
+        when(redisTemplate.hasKey("token")).thenReturn(blacklisted);
+        return redisTemplate;
+    }
+
+    // Drives both the cache's ticker and the clock its time to live is computed with
+    private static final class FakeTime extends Clock implements Ticker {
+        private volatile Instant now;
+
+        private FakeTime(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public long read() {
+            return TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
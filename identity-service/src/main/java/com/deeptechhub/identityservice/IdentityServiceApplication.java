@@ -1,11 +1,14 @@
 package com.deeptechhub.identityservice;
 
+import com.deeptechhub.common.config.AsyncConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 
 @SpringBootApplication
 @EnableMethodSecurity
+@Import(AsyncConfig.class)
 public class IdentityServiceApplication {
 
 	public static void main(String[] args) {
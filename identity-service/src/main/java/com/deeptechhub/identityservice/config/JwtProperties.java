@@ -11,4 +11,5 @@ import org.springframework.core.io.Resource;
 public class JwtProperties {
     private long accessTokenExpiryMs; // Used for authentication
     private long refreshTokenExpiryMs; // Used for generating new access token
+    private boolean statelessAuth; // Issue uid/role claims and authenticate from them without a user lookup
 }
@@ -6,6 +6,8 @@ import com.deeptechhub.identityservice.dto.UpdateProfileDTO;
 import com.deeptechhub.identityservice.dto.UserProfileDTO;
 import com.deeptechhub.identityservice.service.UserService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,6 +59,13 @@ public class UserController {
         return ResponseEntity.ok(userService.findByUsername(username));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<UserDto>> getUsersByIds(
+            @Valid @RequestBody @NotEmpty @Size(max = UserService.MAX_BATCH_SIZE) List<Long> ids) {
+        log.debug("Attempting to get {} users by id", ids.size());
+        return ResponseEntity.ok(userService.findAllByIds(ids));
+    }
+
     @PatchMapping("/{userId}/role")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> updateUserRole(
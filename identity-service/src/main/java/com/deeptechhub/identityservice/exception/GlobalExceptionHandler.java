@@ -1,6 +1,7 @@
 package com.deeptechhub.identityservice.exception;
 
 import com.deeptechhub.common.exception.ResourceNotFoundException;
+import jakarta.validation.ConstraintViolationException;
 import org.springdoc.api.ErrorMessage;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -33,6 +34,13 @@ public class GlobalExceptionHandler {
                 .body(new ErrorMessage(ex.getMessage()));
     }
 
+    // Constraints on controller method parameters, checked because the controllers are @Validated
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorMessage> handleConstraintViolation(ConstraintViolationException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorMessage(ex.getMessage()));
+    }
+
     // Handle Access denied scenarios
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorMessage> handleAccessDeniedException(AccessDeniedException ex) {
@@ -1,5 +1,7 @@
 package com.deeptechhub.identityservice.filter;
 
+import com.deeptechhub.common.security.VerifiedToken;
+import com.deeptechhub.identityservice.config.JwtProperties;
 import com.deeptechhub.identityservice.service.JwtService;
 import com.deeptechhub.identityservice.service.TokenBlacklistService;
 import com.deeptechhub.identityservice.util.AuthUtils;
@@ -26,6 +28,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final JwtProperties jwtProperties;
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     @Override
@@ -48,12 +51,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        final String username = jwtService.extractUsername(jwtToken);
+        // Parse the token once; the verified claims are used for the rest of the request
+        final VerifiedToken verifiedToken = jwtService.verify(jwtToken);
+        final String username = verifiedToken.username();
         log.debug("Username has been extracted as {}", username);
 
         if(username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            boolean isTokenValid = jwtService.isTokenValid(jwtToken, userDetails);
+            // Tokens issued before stateless auth was enabled carry no claims and still need the lookup
+            UserDetails userDetails = jwtProperties.isStatelessAuth()
+                    ? jwtService.extractUserDetails(verifiedToken).orElse(null)
+                    : null;
+            if(userDetails == null) {
+                userDetails = this.userDetailsService.loadUserByUsername(username);
+            }
+            boolean isTokenValid = verifiedToken.isValidFor(userDetails.getUsername());
             log.debug("The token is valid");
 
             if(isTokenValid) {
@@ -61,7 +61,7 @@ public class AuthServiceImpl implements AuthService {
         User user = userRepository.findByUsername(userDetails.getUsername()).orElseThrow();
 
         // Generating Access token and refresh token
-        String accessToken = jwtService.generateAccessToken(userDetails.getUsername());
+        String accessToken = jwtService.generateAccessToken(user);
         String refreshToken = jwtService.generateRefreshToken(userDetails.getUsername());
 
         // Save refreshToken
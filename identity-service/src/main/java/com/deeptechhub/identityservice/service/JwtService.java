@@ -1,13 +1,26 @@
 package com.deeptechhub.identityservice.service;
 
+import com.deeptechhub.common.security.VerifiedToken;
+import com.deeptechhub.identityservice.domain.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Optional;
+
 public interface JwtService {
     String extractUsername(String token);
 
-    boolean isTokenValid(String token, UserDetails userDetails);
+    /**
+     * Verifies the signature of a token and reads its claims in a single parse.
+     */
+    VerifiedToken verify(String token);
+
+    /**
+     * Builds the user details carried by the uid and role claims of a verified access token,
+     * or an empty Optional for tokens issued without them.
+     */
+    Optional<UserDetails> extractUserDetails(VerifiedToken token);
 
-    String generateAccessToken(String username);
+    String generateAccessToken(User user);
 
     String generateRefreshToken(String username);
 }
@@ -1,5 +1,7 @@
 package com.deeptechhub.identityservice.service;
 
+import com.deeptechhub.common.security.VerifiedToken;
+import com.deeptechhub.identityservice.domain.User;
 import com.deeptechhub.identityservice.exception.JwtAuthenticationException;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
@@ -7,28 +9,37 @@ import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
+import static com.deeptechhub.common.CommonApplicationConstants.JWT_ROLE_CLAIM;
+import static com.deeptechhub.common.CommonApplicationConstants.JWT_USER_ID_CLAIM;
+
 @Service
 public class JwtServiceImpl implements JwtService {
     private final String jwtSecret;
     private final long accessTokenExpiryMs;
     private final long refreshTokenExpiryMs;
+    private final boolean statelessAuth;
     private SecretKey secretKey;
     private JwtParser jwtParser;
 
     public JwtServiceImpl(
             @Qualifier("jwtSecret") String jwtSecret,
             @Value("${jwt.accessTokenExpiryMs}") long accessTokenExpiryMs,
-            @Value("${jwt.refreshTokenExpiryMs}") long refreshTokenExpiryMs) {
+            @Value("${jwt.refreshTokenExpiryMs}") long refreshTokenExpiryMs,
+            @Value("${jwt.stateless-auth:false}") boolean statelessAuth) {
         this.jwtSecret = jwtSecret;
         this.accessTokenExpiryMs = accessTokenExpiryMs;
         this.refreshTokenExpiryMs = refreshTokenExpiryMs;
+        this.statelessAuth = statelessAuth;
         initialize();
     }
 
@@ -48,26 +59,39 @@ public class JwtServiceImpl implements JwtService {
     }
 
     @Override
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    public VerifiedToken verify(String token) {
+        return VerifiedToken.of(token, getAllClaims(token));
+    }
+
+    @Override
+    public Optional<UserDetails> extractUserDetails(VerifiedToken token) {
+        return token.user().map(user -> org.springframework.security.core.userdetails.User
+                .withUsername(user.getUsername())
+                .password("N/A") // Never checked for token authentication
+                .authorities(new SimpleGrantedAuthority(user.getRole().getAuthority()))
+                .build());
     }
 
     @Override
-    public String generateAccessToken(String username) {
-        return generateToken(username, accessTokenExpiryMs);
+    public String generateAccessToken(User user) {
+        // Services in stateless auth mode build the principal from these claims instead of looking the user up
+        Map<String, Object> claims = statelessAuth
+                ? Map.of(JWT_USER_ID_CLAIM, user.getId(), JWT_ROLE_CLAIM, user.getRole().name())
+                : Map.of();
+        return generateToken(user.getUsername(), claims, accessTokenExpiryMs);
     }
 
     @Override
     public String generateRefreshToken(String username) {
-        return generateToken(username, refreshTokenExpiryMs);
+        return generateToken(username, Map.of(), refreshTokenExpiryMs);
     }
 
-    private String generateToken(String username, long expiryMs) {
+    private String generateToken(String username, Map<String, Object> claims, long expiryMs) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiryMs);
 
         return Jwts.builder()
+                .claims(claims)
                 .subject(username)
                 .issuedAt(now)
                 .expiration(expiryDate)
@@ -75,10 +99,6 @@ public class JwtServiceImpl implements JwtService {
                 .compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        return getClaim(token, Claims::getExpiration).before(new Date());
-    }
-
     private <T> T getClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = getAllClaims(token);
         return claimsResolver.apply(claims);
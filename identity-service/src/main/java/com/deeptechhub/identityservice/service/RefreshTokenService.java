@@ -53,7 +53,7 @@ public class RefreshTokenService {
             throw new IllegalArgumentException("Invalid refresh token");
         }
 
-        String newAccessToken = jwtService.generateAccessToken(userDetails.getUsername());
+        String newAccessToken = jwtService.generateAccessToken(storedToken.get().getUser());
         return new AuthResponse(newAccessToken, refreshTokenStr);
     }
 }
@@ -10,8 +10,12 @@ import java.util.List;
 import java.util.Optional;
 
 public interface UserService {
+    // Most user ids findAllByIds looks up at once
+    int MAX_BATCH_SIZE = 500;
+
     public UserDto findByUsername(String username);
     public UserDto findById(Long id);
+    public List<UserDto> findAllByIds(List<Long> ids);
     public UserProfileDTO getCurrentUserProfile(String username);
     public UserProfileDTO updateUserProfile(String username, UpdateProfileDTO updateProfileDTO);
     public List<UserProfileDTO> listAllUsers();
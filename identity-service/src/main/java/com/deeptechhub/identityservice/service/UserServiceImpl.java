@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -36,6 +37,22 @@ public class UserServiceImpl implements UserService {
         return getUserDtoFromUser(user);
     }
 
+    public List<UserDto> findAllByIds(List<Long> ids) {
+        if(ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if(distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " user ids can be looked up at once");
+        }
+
+        // Unknown ids are left out of the result rather than failing the whole batch
+        return userRepository.findAllById(distinctIds).stream()
+                .map(this::getUserDtoFromUser)
+                .toList();
+    }
+
     public UserProfileDTO getCurrentUserProfile(String username) {
         log.debug("Attempting to get user profile for {}", username);
         User user = userRepository.findByUsername(username).orElseThrow(() ->
@@ -21,9 +21,11 @@ import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -135,6 +137,51 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.username").value("admin"));
     }
 
+    @Test
+    void getUsersByIds_ReturnsUserDtos() throws Exception {
+        UserDto userDto = UserDto.builder()
+                .id(1L)
+                .username("deepak")
+                .role(Role.USER)
+                .build();
+
+        when(userService.findAllByIds(List.of(1L, 2L))).thenReturn(List.of(userDto));
+
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].username").value("deepak"));
+    }
+
+    @Test
+    void getUsersByIds_WithEmptyOrNullBody_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("null"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).findAllByIds(any());
+    }
+
+    @Test
+    void getUsersByIds_WithTooManyIds_ReturnsBadRequest() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, UserService.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).findAllByIds(any());
+    }
+
     @Test
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     void updateUserRole_AsAdmin_ReturnsNoContent() throws Exception {
@@ -93,7 +93,7 @@ class AuthServiceImplTest {
         when(authenticationManager.authenticate(any()))
                 .thenReturn(new UsernamePasswordAuthenticationToken(userDetails, null));
         when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
-        when(jwtService.generateAccessToken(USERNAME)).thenReturn(ACCESS_TOKEN);
+        when(jwtService.generateAccessToken(user)).thenReturn(ACCESS_TOKEN);
         when(jwtService.generateRefreshToken(USERNAME)).thenReturn(REFRESH_TOKEN);
 
         AuthResponse response = authService.login(authRequest);
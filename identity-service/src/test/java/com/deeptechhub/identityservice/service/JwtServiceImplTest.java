@@ -0,0 +1,40 @@
+package com.deeptechhub.identityservice.service;
+
+import com.deeptechhub.common.dto.Role;
+import com.deeptechhub.identityservice.domain.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceImplTest {
+    private static final String SECRET = "dGVzdC1zZWNyZXQtMTIzNDU2Nzg5MC1mb3ItdGVzdGluZy1vbmx5";
+
+    private final User user = User.builder().id(7L).username("john").role(Role.ADMIN).build();
+
+    @Test
+    void generateAccessToken_ShouldCarryUserClaims_WhenStatelessAuthIsEnabled() {
+        JwtServiceImpl jwtService = new JwtServiceImpl(SECRET, 900000, 604800000, true);
+
+        Optional<UserDetails> userDetails = jwtService.extractUserDetails(jwtService.verify(jwtService.generateAccessToken(user)));
+
+        assertTrue(userDetails.isPresent());
+        assertEquals("john", userDetails.get().getUsername());
+        assertEquals(Role.ADMIN.getAuthority(),
+                userDetails.get().getAuthorities().stream().map(GrantedAuthority::getAuthority).findFirst().orElseThrow());
+    }
+
+    @Test
+    void extractUserDetails_ShouldBeEmpty_ForTokensWithoutUserClaims() {
+        JwtServiceImpl jwtService = new JwtServiceImpl(SECRET, 900000, 604800000, false);
+
+        String accessToken = jwtService.generateAccessToken(user);
+
+        assertEquals("john", jwtService.extractUsername(accessToken));
+        assertTrue(jwtService.extractUserDetails(jwtService.verify(accessToken)).isEmpty());
+        assertTrue(jwtService.extractUserDetails(jwtService.verify(jwtService.generateRefreshToken("john"))).isEmpty());
+    }
+}
@@ -108,8 +108,10 @@ class RefreshTokenServiceTest {
         String refreshToken = "valid-refresh-token";
         String username = "john";
         String newAccessToken = "new-access-token";
+        User user = User.builder().id(1L).username(username).build();
 
         RefreshToken storedToken = RefreshToken.builder()
+                .user(user)
                 .token(refreshToken)
                 .revoked(false)
                 .expiryDate(LocalDateTime.now().plusMinutes(5))
@@ -122,7 +124,7 @@ class RefreshTokenServiceTest {
         when(jwtService.extractUsername(refreshToken)).thenReturn(username);
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
         when(refreshTokenRepository.findByToken(refreshToken)).thenReturn(Optional.of(storedToken));
-        when(jwtService.generateAccessToken(username)).thenReturn(newAccessToken);
+        when(jwtService.generateAccessToken(user)).thenReturn(newAccessToken);
 
         AuthResponse response = refreshTokenService.refreshToken(refreshToken);
 
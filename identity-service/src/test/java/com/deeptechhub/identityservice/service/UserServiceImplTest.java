@@ -17,6 +17,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -87,6 +88,29 @@ class UserServiceImplTest {
                 .hasMessage("User with id 1 not found");
     }
 
+    @Test
+    void findAllByIds_returnsFoundUsers_withDistinctIdsLookedUpOnce() {
+        when(userRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(user));
+
+        List<UserDto> dtos = userService.findAllByIds(List.of(1L, 2L, 1L));
+
+        assertThat(dtos).extracting(UserDto::getUsername).containsExactly("john");
+    }
+
+    @Test
+    void findAllByIds_whenEmpty_skipsRepository() {
+        assertThat(userService.findAllByIds(List.of())).isEmpty();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void findAllByIds_whenTooManyIds_throwsException() {
+        List<Long> ids = LongStream.rangeClosed(1, UserServiceImpl.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertThatThrownBy(() -> userService.findAllByIds(ids))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void getCurrentUserProfile_whenUserExists_returnsProfileDTO() {
         when(userRepository.findByUsername("john")).thenReturn(Optional.of(user));
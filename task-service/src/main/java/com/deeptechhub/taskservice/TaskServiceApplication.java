@@ -1,13 +1,16 @@
 package com.deeptechhub.taskservice;
 
+import com.deeptechhub.common.config.AsyncConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 
 @SpringBootApplication
 @EnableFeignClients
 @EnableMethodSecurity
+@Import(AsyncConfig.class)
 public class TaskServiceApplication {
 
 	public static void main(String[] args) {
@@ -4,6 +4,13 @@ import com.deeptechhub.common.dto.UserDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import java.util.List;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 
 @FeignClient(name="identity-service", url = "${identity-service.url}")
 public interface IdentityServiceClient {
@@ -14,4 +21,13 @@ public interface IdentityServiceClient {
     @GetMapping("/api/users/username/{username}")
     UserDto getUserByUsername(@PathVariable("username") String username);
 
+    // Users unknown to identity-service are left out of the result
+    @PostMapping("/api/users/batch")
+    List<UserDto> getUsersByIds(@RequestBody List<Long> ids);
+
+    // For calls made outside the request thread, where JwtTokenPropagator cannot see the incoming header
+    @GetMapping("/api/users/username/{username}")
+    UserDto getUserByUsername(@PathVariable("username") String username,
+                              @RequestHeader(AUTHORIZATION) String authorization);
+
 }
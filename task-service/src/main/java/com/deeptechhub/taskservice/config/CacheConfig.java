@@ -0,0 +1,29 @@
+package com.deeptechhub.taskservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String TASKS = "tasks";
+
+    @Bean
+    public CacheManager cacheManager(TaskCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(TASKS);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()); // Published by Actuator as cache.gets, cache.puts and cache.evictions
+        cacheManager.setAllowNullValues(false);
+
+        // Evictions wait for the surrounding transaction to commit. Evicting earlier would let a
+        // concurrent read put the old row back into the cache before the write becomes visible.
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
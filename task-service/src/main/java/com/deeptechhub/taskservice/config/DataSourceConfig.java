@@ -33,6 +33,8 @@ public class DataSourceConfig {
         dataSource.setUsername(username);
         dataSource.setPassword(password);
         dataSource.setDriverClassName(driverClassName);
+        // Let the Postgres driver collapse JDBC insert batches into multi-row inserts
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
 
         return dataSource;
     }
@@ -1,13 +1,29 @@
 package com.deeptechhub.taskservice.config;
 
 import com.deeptechhub.common.CommonApplicationConstants;
+import feign.Client;
 import feign.RequestInterceptor;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Feign runs on the pooled Apache HttpClient 5 set up by spring.cloud.openfeign.httpclient.*,
+ * or on the JDK HttpClient when spring.cloud.openfeign.http2client.enabled switches to HTTP/2.
+ * Call latency is recorded by feign-micrometer as http.client.requests{clientName=identity-service}.
+ */
 @Configuration
 public class FeignConfig {
+    static final String POOL_NAME = "identity-service";
+
     @Bean
     public RequestInterceptor correlationInterceptor() {
         return template -> {
@@ -18,4 +34,23 @@ public class FeignConfig {
         };
     }
 
+    // Only expired connections are evicted by default; also close the ones idle long enough for the server to drop them
+    @Bean
+    public HttpClientBuilderCustomizer idleConnectionEviction(FeignPoolProperties properties) {
+        return builder -> builder.evictIdleConnections(TimeValue.of(properties.getIdleEviction()));
+    }
+
+    // Pool saturation as httpcomponents.httpclient.pool.* gauges: leased, available and pending connections
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<Client> client,
+                                                  ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> {
+            // The pool may exist while HTTP/2 has replaced it as the Feign client
+            if(client.getIfAvailable() instanceof ApacheHttp5Client
+                    && connectionManager.getIfAvailable() instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, POOL_NAME).bindTo(registry);
+            }
+        };
+    }
+
 }
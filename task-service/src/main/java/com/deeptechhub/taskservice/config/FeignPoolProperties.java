@@ -0,0 +1,14 @@
+package com.deeptechhub.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "identity-service.http-client")
+@Data
+public class FeignPoolProperties {
+    private Duration idleEviction = Duration.ofSeconds(30); // Pooled connections idle for longer are closed in the background
+}
@@ -0,0 +1,12 @@
+package com.deeptechhub.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "jwt")
+@Data
+public class JwtProperties {
+    private boolean statelessAuth; // Trust uid/role claims of access tokens instead of asking identity-service
+}
@@ -0,0 +1,15 @@
+package com.deeptechhub.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "tasks.cache")
+@Data
+public class TaskCacheProperties {
+    private long maxSize = 10_000; // Tasks kept by id
+    private Duration ttl = Duration.ofMinutes(10); // Replicas that did not handle the write keep serving the old task this long
+}
@@ -0,0 +1,15 @@
+package com.deeptechhub.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "tasks.changes")
+@Data
+public class TaskChangesProperties {
+    private Duration tombstoneRetention = Duration.ofDays(30); // Older change tokens get 410 and clients sync from scratch
+    private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,16 @@
+package com.deeptechhub.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "tasks.list-cache")
+@Data
+public class TaskListCacheProperties {
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofMinutes(5); // Reclaims pages left behind by a version bump, and caps staleness when a bump misses Redis
+    private long nearCacheSize = 10_000; // Pages kept in memory on each replica
+}
@@ -0,0 +1,19 @@
+package com.deeptechhub.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "tasks.outbox")
+@Data
+public class TaskOutboxProperties {
+    private boolean relayEnabled = true; // Replicas without the relay still write events, others publish them
+    private String streamKey = "tasks:events";
+    private long streamMaxLength = 1_000_000; // Approximate cap, older entries are trimmed by XADD
+    private int batchSize = 500; // Events claimed, published and deleted per transaction
+    private int maxBatchesPerRun = 20; // Full batches drained back to back before waiting for the next poll
+    private Duration pollInterval = Duration.ofMillis(500);
+}
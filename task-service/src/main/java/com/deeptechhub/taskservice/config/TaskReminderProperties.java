@@ -0,0 +1,21 @@
+package com.deeptechhub.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "tasks.reminders")
+@Data
+public class TaskReminderProperties {
+    private boolean enabled = true;
+    private Duration leadTime = Duration.ofMinutes(15); // Reminders go out this long before a task is due
+    private Duration maxLateness = Duration.ofMinutes(5); // Reminders of tasks overdue by longer are dropped, e.g. after downtime
+    private Duration lookahead = Duration.ofHours(1); // Timers loaded this far beyond the lead time; keep above loadInterval
+    private Duration loadInterval = Duration.ofMinutes(1); // Tasks written on other replicas are picked up this late; keep below maxLateness
+    private Duration tick = Duration.ofSeconds(1); // Timer resolution, reminders go out up to a tick late
+    private int maxPending = 100_000; // Timers held per replica, roughly 100 bytes each
+    private int batchSize = 500; // Tasks loaded or reminded per statement
+}
@@ -0,0 +1,20 @@
+package com.deeptechhub.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "tasks.stream")
+@Data
+public class TaskStreamProperties {
+    private boolean enabled = true; // Read the task event stream and serve GET /api/tasks/stream
+    private int maxSubscribers = 10_000; // Open streams per replica, further subscriptions are refused
+    private int maxSubscribersPerUser = 5; // A new stream beyond this closes the user's oldest one
+    private int subscriberQueueSize = 256; // Events waiting to be sent before a subscriber counts as too slow
+    private int resumeBufferSize = 10_000; // Recent events of all users kept for reconnects with Last-Event-ID
+    private Duration heartbeat = Duration.ofSeconds(15); // Comment sent on idle streams to keep proxies from closing them
+    private Duration timeout = Duration.ofMinutes(30); // Streams are closed after this and the client reconnects
+}
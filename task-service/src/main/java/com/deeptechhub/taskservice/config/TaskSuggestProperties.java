@@ -0,0 +1,17 @@
+package com.deeptechhub.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "tasks.suggest")
+@Data
+public class TaskSuggestProperties {
+    private int maxResults = 10; // Titles returned per prefix
+    private int prefixesPerUser = 32; // Recent prefixes kept for each user
+    private long maxUsers = 10_000; // Users with cached prefixes
+    private Duration ttl = Duration.ofSeconds(60); // Other replicas than the writer keep suggesting old titles this long
+}
@@ -0,0 +1,16 @@
+package com.deeptechhub.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "identity-service.user-cache")
+@Data
+public class UserCacheProperties {
+    private long maxSize = 10_000; // Usernames cached
+    private Duration refreshAfter = Duration.ofMinutes(1); // Older entries are refreshed in the background
+    private Duration ttl = Duration.ofMinutes(10); // Entries are never served beyond this age
+}
@@ -0,0 +1,15 @@
+package com.deeptechhub.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "identity-service.username-cache")
+@Data
+public class UsernameCacheProperties {
+    private long maxSize = 10_000; // User ids cached
+    private Duration ttl = Duration.ofMinutes(30); // Usernames never change, this only bounds memory held for departed users
+}
@@ -1,23 +1,49 @@
 package com.deeptechhub.taskservice.controller;
 
+import com.deeptechhub.taskservice.dto.CursorPage;
+import com.deeptechhub.taskservice.dto.TaskBatchRequest;
+import com.deeptechhub.taskservice.dto.TaskBatchResponse;
+import com.deeptechhub.taskservice.dto.TaskBulkRequest;
+import com.deeptechhub.taskservice.dto.TaskBulkResponse;
+import com.deeptechhub.taskservice.dto.TaskChangesResponse;
+import com.deeptechhub.taskservice.dto.TaskMergePatch;
+import com.deeptechhub.taskservice.dto.TaskMultiGetRequest;
+import com.deeptechhub.taskservice.dto.TaskMultiGetResponse;
+import com.deeptechhub.taskservice.dto.TaskQuery;
 import com.deeptechhub.taskservice.dto.TaskRequest;
 import com.deeptechhub.taskservice.dto.TaskResponse;
+import com.deeptechhub.taskservice.dto.TaskSort;
+import com.deeptechhub.taskservice.security.SecurityHelper;
+import com.deeptechhub.taskservice.service.TaskExportService;
 import com.deeptechhub.taskservice.service.TaskService;
+import com.deeptechhub.taskservice.service.TaskStreamHub;
+import com.deeptechhub.taskservice.service.TaskSuggestionService;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Tag(name="Tasks", description = "Manage user tasks")
@@ -26,6 +52,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TaskController {
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskSuggestionService taskSuggestionService;
+    private final TaskStreamHub taskStreamHub;
+    private final SecurityHelper securityHelper;
     private static final Logger log = LoggerFactory.getLogger(TaskController.class);
 
     @Operation(summary = "Create a new task")
@@ -41,27 +71,119 @@ public class TaskController {
                 .body(taskResponse);
     }
 
+    @Operation(summary = "Create many tasks in one request")
+    @PostMapping(path = "/batch")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<TaskBatchResponse> createTasks(@RequestBody @Valid TaskBatchRequest taskBatchRequest,
+                                                         Principal principal) {
+        log.debug("Attempting to create {} tasks for user {}", taskBatchRequest.tasks().size(), principal.getName());
+        TaskBatchResponse taskBatchResponse = taskService.createTasks(taskBatchRequest.tasks());
+        return ResponseEntity.status(HttpStatus.CREATED).body(taskBatchResponse);
+    }
+
+    @Operation(summary = "Fetch up to 200 of the current user's tasks by id in one request, in request order")
+    @PostMapping(path = "/multi-get")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public TaskMultiGetResponse getTasks(@RequestBody @Valid TaskMultiGetRequest taskMultiGetRequest) {
+        log.debug("Fetching {} tasks by id", taskMultiGetRequest.ids().size());
+        return taskService.getTasks(taskMultiGetRequest.ids());
+    }
+
+    @Operation(summary = "Fetch a page of the current user's tasks, filtered and sorted (newest first by default). "
+            + "Answers 304 to an If-None-Match with the current ETag")
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public List<TaskResponse> getUserTasks(Principal principal) {
+    public CursorPage<TaskResponse> getUserTasks(Principal principal,
+                                                 @RequestParam(name = "completed", required = false) Boolean completed,
+                                                 @RequestParam(name = "dueBefore", required = false)
+                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+                                                 @RequestParam(name = "dueAfter", required = false)
+                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueAfter,
+                                                 @RequestParam(name = "q", required = false) String q,
+                                                 @RequestParam(name = "sort", defaultValue = TaskSort.DEFAULT_PARAM) String sort,
+                                                 @RequestParam(name = "limit", defaultValue = "50") int limit,
+                                                 @RequestParam(name = "after", required = false) String after,
+                                                 WebRequest webRequest) {
         log.debug("Fetch user tasks for username {}", principal.getName());
-        return taskService.getUserTasks(principal.getName());
+        TaskQuery query = new TaskQuery(completed, dueBefore, dueAfter, q, TaskSort.fromParam(sort));
+
+        // Sets the ETag header, and the status to 304 when the client's copy is current
+        String listVersion = taskService.getUserTasksVersion();
+        if(webRequest.checkNotModified(TaskETags.ofList(listVersion))) {
+            return null;
+        }
+        return taskService.getUserTasks(principal.getName(), query, limit, after, listVersion);
+    }
+
+    @Operation(summary = "Full-text search of the current user's tasks, best match first")
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public CursorPage<TaskResponse> searchTasks(Principal principal,
+                                                @RequestParam(name = "q") String q,
+                                                @RequestParam(name = "limit", defaultValue = "50") int limit,
+                                                @RequestParam(name = "after", required = false) String after) {
+        log.debug("Search tasks of username {}", principal.getName());
+        return taskService.searchTasks(q, limit, after);
+    }
+
+    @Operation(summary = "Suggest titles of the current user's tasks while typing")
+    @GetMapping("/suggest")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public List<String> suggestTaskTitles(@RequestParam(name = "prefix") String prefix) {
+        return taskSuggestionService.suggestTitles(prefix);
+    }
+
+    @Operation(summary = "Fetch the current user's task changes since the token of an earlier call, for offline sync")
+    @GetMapping("/changes")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public TaskChangesResponse getTaskChanges(@RequestParam(name = "since", required = false) String since,
+                                              @RequestParam(name = "limit", defaultValue = "500") int limit) {
+        log.debug("Fetch task changes since {}", since);
+        return taskService.getTaskChanges(since, limit);
+    }
+
+    @Operation(summary = "Stream the current user's task changes as server-sent events, resuming after Last-Event-ID")
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public SseEmitter streamTasks(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        Long userId = securityHelper.getCurrentUser().getId();
+        log.debug("Opening task stream for user {} after event {}", userId, lastEventId);
+        return taskStreamHub.subscribe(userId, lastEventId);
     }
 
     @Tag(name="Tasks", description = "Fetch tasks for all users")
     @GetMapping("/all")
     @PreAuthorize("hasAnyRole('ADMIN')")
-    public List<TaskResponse> getAllTasks(Principal principal) {
+    public CursorPage<TaskResponse> getAllTasks(Principal principal,
+                                                @RequestParam(name = "limit", defaultValue = "50") int limit,
+                                                @RequestParam(name = "after", required = false) String after) {
         log.debug("Get all the tasks for different users");
-        return taskService.getAllTasks();
+        return taskService.getAllTasks(limit, after);
 
     }
 
+    @Operation(summary = "Export all tasks as newline-delimited JSON")
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public void exportTasks(HttpServletResponse response) throws IOException {
+        log.debug("Exporting all the tasks");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        taskExportService.exportAllTasks(response.getOutputStream());
+    }
+
     @GetMapping(path = "/{id}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable("id") Long id) {
+    public ResponseEntity<TaskResponse> getTaskById(@PathVariable("id") Long id, WebRequest webRequest) {
         log.debug("Fetching task with id {}", id);
-        return ResponseEntity.ok(taskService.getTask(id));
+        // Only the version column is read to answer a revalidation
+        if(webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(TaskETags.ofTask(taskService.getTaskVersion(id)))) {
+            return null;
+        }
+
+        TaskResponse taskResponse = taskService.getTask(id);
+        return ResponseEntity.ok().eTag(TaskETags.ofTask(taskResponse.version())).body(taskResponse);
     }
 
     @DeleteMapping(path = "/{id}")
@@ -73,14 +195,35 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Complete, reschedule or delete many of the current user's tasks in one statement")
+    @PatchMapping(path = "/bulk")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<TaskBulkResponse> bulkUpdateTasks(@RequestBody @Valid TaskBulkRequest taskBulkRequest) {
+        log.debug("Attempting bulk {} of tasks", taskBulkRequest.action());
+        return ResponseEntity.ok(taskService.bulkUpdateTasks(taskBulkRequest));
+    }
+
     @PutMapping(path="/{id}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public ResponseEntity<TaskResponse> updateTask(@RequestBody @Valid TaskRequest taskRequest,
-                                                   @PathVariable("id") Long id) {
+                                                   @PathVariable("id") Long id,
+                                                   @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.debug("Attempting to update task with id {}", id);
-        TaskResponse taskResponse = taskService.updateTask(id, taskRequest);
+        TaskResponse taskResponse = taskService.updateTask(id, taskRequest, TaskETags.expectedVersion(ifMatch));
         log.debug("Successfully updated a task with id {}", id);
-        return ResponseEntity.ok(taskResponse);
+        return ResponseEntity.ok().eTag(TaskETags.ofTask(taskResponse.version())).body(taskResponse);
+    }
+
+    @Operation(summary = "Change only the fields in a JSON Merge Patch, if the task is still at the version in If-Match")
+    @PatchMapping(path = "/{id}", consumes = TaskMergePatch.MEDIA_TYPE)
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<TaskResponse> patchTask(@RequestBody JsonNode patch,
+                                                  @PathVariable("id") Long id,
+                                                  @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Attempting to patch task with id {}", id);
+        TaskResponse taskResponse = taskService.patchTask(id, TaskMergePatch.fromJson(patch),
+                TaskETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(TaskETags.ofTask(taskResponse.version())).body(taskResponse);
     }
 
 }
@@ -0,0 +1,42 @@
+package com.deeptechhub.taskservice.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Strong ETags of task representations. A single task is tagged with its version column and a task list
+ * with the version of all of the user's lists, so neither needs the response body to be computed.
+ */
+final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    static String ofTask(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String ofList(String listVersion) {
+        return "\"" + listVersion + "\"";
+    }
+
+    /**
+     * Returns the task version required by an If-Match header, or null when there is no header or it is "*".
+     * If-Match uses the strong comparison, so a weak or malformed tag can never match.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if(ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if(tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Falls through to the precondition failure
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match must be a single task ETag");
+    }
+}
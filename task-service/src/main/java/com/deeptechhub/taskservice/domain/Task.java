@@ -3,6 +3,8 @@ package com.deeptechhub.taskservice.domain;
 import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -10,10 +12,14 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
+@Table(name = "tasks") // Schema and indexes are managed by the Flyway migrations in db/migration
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task") // Only used when the second-level cache is enabled
 public class Task {
 
+    // Pooled sequence so ids are known before insert and Hibernate can batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -29,4 +35,8 @@ public class Task {
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    // Incremented on every write; statements that bypass Hibernate increment it themselves
+    @Version
+    private Long version;
 }
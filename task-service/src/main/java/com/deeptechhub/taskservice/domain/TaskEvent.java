@@ -0,0 +1,33 @@
+package com.deeptechhub.taskservice.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task change waiting in the outbox to be published, see V7__add_task_events_outbox.sql.
+ */
+@Data
+@Entity
+@Table(name = "task_events")
+public class TaskEvent {
+
+    // Assigned by the database on insert, never by a pooled sequence: the ids order the events of a task
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long taskId;
+    private Long userId; // Owner of the task
+
+    @Enumerated(EnumType.STRING)
+    private TaskEventType type;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String payload; // The task after the change, null for deletes
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,8 @@
+package com.deeptechhub.taskservice.domain;
+
+public enum TaskEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    REMINDER
+}
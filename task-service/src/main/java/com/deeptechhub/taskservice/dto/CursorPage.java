@@ -0,0 +1,12 @@
+package com.deeptechhub.taskservice.dto;
+
+import java.util.List;
+
+/**
+ * A single page of a keyset-paginated result.
+ * {@code nextCursor} is null when there are no more items to fetch.
+ */
+public record CursorPage<T>(
+    List<T> items,
+    String nextCursor
+) {}
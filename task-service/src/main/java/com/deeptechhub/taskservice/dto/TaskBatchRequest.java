@@ -0,0 +1,14 @@
+package com.deeptechhub.taskservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+
+public record TaskBatchRequest(
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = 5000, message = "At most 5000 tasks can be created in one batch")
+    List<@Valid TaskRequest> tasks
+) {}
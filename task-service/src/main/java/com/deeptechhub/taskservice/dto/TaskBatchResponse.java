@@ -0,0 +1,11 @@
+package com.deeptechhub.taskservice.dto;
+
+import java.util.List;
+
+
+public record TaskBatchResponse(
+    int created,
+    List<Long> ids,
+    long elapsedMs,
+    double rowsPerSecond
+) {}
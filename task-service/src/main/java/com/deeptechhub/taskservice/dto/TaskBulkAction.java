@@ -0,0 +1,7 @@
+package com.deeptechhub.taskservice.dto;
+
+public enum TaskBulkAction {
+    COMPLETE,
+    SHIFT_DUE_DATE,
+    DELETE
+}
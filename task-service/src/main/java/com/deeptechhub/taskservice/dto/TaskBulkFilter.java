@@ -0,0 +1,12 @@
+package com.deeptechhub.taskservice.dto;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Selects the current user's tasks for a bulk operation. Null fields are not filtered on.
+ */
+public record TaskBulkFilter(
+    Boolean completed,
+    LocalDateTime dueBefore
+) {}
@@ -0,0 +1,19 @@
+package com.deeptechhub.taskservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.Duration;
+import java.util.List;
+
+
+/**
+ * A bulk operation over either an explicit list of task ids or a filter, never both.
+ * {@code dueDateShift} is an ISO-8601 duration (e.g. "P1D") and is only used by SHIFT_DUE_DATE.
+ */
+public record TaskBulkRequest(
+    @NotNull(message = "Action is mandatory") TaskBulkAction action,
+    @Size(max = 1000, message = "At most 1000 ids can be given in one request") List<Long> ids,
+    TaskBulkFilter filter,
+    Duration dueDateShift
+) {}
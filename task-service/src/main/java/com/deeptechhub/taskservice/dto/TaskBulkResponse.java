@@ -0,0 +1,7 @@
+package com.deeptechhub.taskservice.dto;
+
+
+public record TaskBulkResponse(
+    TaskBulkAction action,
+    int affected
+) {}
@@ -0,0 +1,42 @@
+package com.deeptechhub.taskservice.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of a client in the change feed: the last (changeSeq, id) it has seen, and when it was last caught
+ * up with the whole feed, so that tokens older than the tombstone retention can be refused.
+ * Clients only see the opaque, url-safe encoded form.
+ */
+public record TaskChangeToken(
+    long changeSeq,
+    long id,
+    LocalDateTime issuedAt
+) {
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Position before every change, for a first sync.
+     */
+    public static TaskChangeToken initial(LocalDateTime issuedAt) {
+        return new TaskChangeToken(0, 0, issuedAt);
+    }
+
+    public String encode() {
+        String raw = changeSeq + SEPARATOR + id + SEPARATOR + issuedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskChangeToken decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, -1);
+            return new TaskChangeToken(Long.parseLong(parts[0]), Long.parseLong(parts[1]),
+                    LocalDateTime.parse(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Invalid change token: " + token);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.deeptechhub.taskservice.dto;
+
+import java.util.List;
+
+/**
+ * A page of the current user's task changes. Clients apply the upserts and deletes, store {@code nextToken}
+ * for the next sync and keep calling while {@code hasMore} is true.
+ */
+public record TaskChangesResponse(
+    List<TaskResponse> upserts,
+    List<Long> deletedIds,
+    String nextToken,
+    boolean hasMore
+) {}
@@ -0,0 +1,45 @@
+package com.deeptechhub.taskservice.dto;
+
+import com.deeptechhub.taskservice.domain.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last task of a page in the (sort key, id) ordering, where the sort key is
+ * created_at unless the client picked another {@link TaskSort}. A null key (no due date) is kept.
+ * Clients only see the opaque, url-safe encoded form.
+ */
+public record TaskCursor(
+    LocalDateTime key,
+    Long id
+) {
+    private static final String SEPARATOR = "|";
+
+    public static TaskCursor fromTask(Task task) {
+        return new TaskCursor(task.getCreatedAt(), task.getId());
+    }
+
+    public static TaskCursor fromTask(Task task, TaskSort sort) {
+        return new TaskCursor(sort.keyOf(task), task.getId());
+    }
+
+    public String encode() {
+        String raw = (key == null ? "" : key.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            String key = raw.substring(0, separatorIndex);
+            return new TaskCursor(key.isEmpty() ? null : LocalDateTime.parse(key),
+                    Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.deeptechhub.taskservice.dto;
+
+import com.deeptechhub.taskservice.domain.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of a task after a change, as published on the task event stream.
+ */
+public record TaskEventPayload(
+    Long id,
+    String title,
+    String description,
+    LocalDateTime dueDate,
+    boolean completed,
+    Long createdByUserId,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+){
+    public static TaskEventPayload fromTask(Task task) {
+        return new TaskEventPayload(task.getId(), task.getTitle(), task.getDescription(), task.getDueDate(),
+                task.isCompleted(), task.getCreatedByUserId(), task.getCreatedAt(), task.getUpdatedAt());
+    }
+}
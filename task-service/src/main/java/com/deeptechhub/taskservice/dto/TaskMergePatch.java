@@ -0,0 +1,80 @@
+package com.deeptechhub.taskservice.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A JSON Merge Patch (RFC 7396) of a task, sent to PATCH /api/tasks/{id}. Members present in the document are
+ * written, a null member clears the field and absent members are left alone. A "version" member is the
+ * version the client last read, like If-Match.
+ *
+ * @param columns new values by column name, a null value clearing the column
+ */
+public record TaskMergePatch(
+    Map<String, Object> columns,
+    Long version
+) {
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    public static TaskMergePatch fromJson(JsonNode document) {
+        if(document == null || !document.isObject()) {
+            throw new IllegalArgumentException("A merge patch must be a JSON object");
+        }
+
+        Map<String, Object> columns = new LinkedHashMap<>();
+        Long version = null;
+        for (Map.Entry<String, JsonNode> member : document.properties()) {
+            JsonNode value = member.getValue();
+            switch (member.getKey()) {
+                case "title" -> {
+                    if(!value.isTextual() || StringUtils.isBlank(value.textValue())) {
+                        throw new IllegalArgumentException("Title is mandatory");
+                    }
+                    columns.put("title", value.textValue());
+                }
+                case "description" -> columns.put("description", value.isNull() ? null : text(member));
+                case "dueDate" -> columns.put("due_date", value.isNull() ? null : dueDate(member));
+                case "completed" -> {
+                    if(!value.isBoolean()) {
+                        throw new IllegalArgumentException("completed must be true or false");
+                    }
+                    columns.put("completed", value.booleanValue());
+                }
+                case "version" -> {
+                    if(!value.isIntegralNumber()) {
+                        throw new IllegalArgumentException("version must be a number");
+                    }
+                    version = value.longValue();
+                }
+                default -> throw new IllegalArgumentException("Unknown or read-only task field: " + member.getKey());
+            }
+        }
+        return new TaskMergePatch(Collections.unmodifiableMap(columns), version);
+    }
+
+    private static String text(Map.Entry<String, JsonNode> member) {
+        if(!member.getValue().isTextual()) {
+            throw new IllegalArgumentException(member.getKey() + " must be a string or null");
+        }
+        return member.getValue().textValue();
+    }
+
+    // Same rule as TaskRequest.dueDate
+    private static LocalDateTime dueDate(Map.Entry<String, JsonNode> member) {
+        try {
+            LocalDateTime dueDate = LocalDateTime.parse(text(member));
+            if(dueDate.isBefore(LocalDateTime.now())) {
+                throw new IllegalArgumentException("Due date must be in future");
+            }
+            return dueDate;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("dueDate must be an ISO date-time or null");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.deeptechhub.taskservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+
+public record TaskMultiGetRequest(
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = 200, message = "At most 200 tasks can be fetched in one request")
+    List<@NotNull Long> ids
+) {}
@@ -0,0 +1,22 @@
+package com.deeptechhub.taskservice.dto;
+
+import java.util.List;
+
+/**
+ * The tasks of a multi-get, one result per requested id in request order. A result that is not
+ * {@code found} has no task: the id does not exist or belongs to another user.
+ */
+public record TaskMultiGetResponse(
+    List<Result> results
+) {
+    public record Result(Long id, boolean found, TaskResponse task) {
+
+        public static Result found(TaskResponse task) {
+            return new Result(task.id(), true, task);
+        }
+
+        public static Result notFound(Long id) {
+            return new Result(id, false, null);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.deeptechhub.taskservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters and ordering for a task list request. Null filters are not applied.
+ */
+public record TaskQuery(
+    Boolean completed,
+    LocalDateTime dueBefore,
+    LocalDateTime dueAfter,
+    String q,
+    TaskSort sort
+) {
+    public static TaskQuery unfiltered() {
+        return new TaskQuery(null, null, null, null, TaskSort.CREATED_AT_DESC);
+    }
+}
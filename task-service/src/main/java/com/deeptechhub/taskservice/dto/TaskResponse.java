@@ -11,11 +11,15 @@ public record TaskResponse(
     String description,
     String createdBy, // username
     LocalDateTime dueDate,
-    boolean completed
+    boolean completed,
+    Long version // Also sent as the ETag, and expected back in If-Match when updating
 ){
-    public static TaskResponse fromTask(Task task) {
-        //TODO: Update the createdByUserId here
+    /**
+     * @param createdBy username of the creator; the creator's user id is shown when it could not be resolved
+     */
+    public static TaskResponse fromTask(Task task, String createdBy) {
         return new TaskResponse(task.getId(), task.getTitle(), task.getDescription(),
-                "" + task.getCreatedByUserId(), task.getDueDate(), task.isCompleted());
+                createdBy != null ? createdBy : String.valueOf(task.getCreatedByUserId()),
+                task.getDueDate(), task.isCompleted(), task.getVersion());
     }
 }
@@ -0,0 +1,32 @@
+package com.deeptechhub.taskservice.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last hit of a search page in the (rank, id) ordering.
+ * Clients only see the opaque, url-safe encoded form.
+ */
+public record TaskSearchCursor(
+    float rank,
+    Long id
+) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        // Float.toString round-trips exactly, so the next page compares against the same real value
+        String raw = Float.toString(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            return new TaskSearchCursor(Float.parseFloat(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
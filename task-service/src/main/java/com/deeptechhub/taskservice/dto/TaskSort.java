@@ -0,0 +1,67 @@
+package com.deeptechhub.taskservice.dto;
+
+import com.deeptechhub.taskservice.domain.Task;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Orderings accepted by the task list API. Only columns backed by an index that starts with
+ * created_by_user_id are listed, so a page never needs to sort the user's whole task list.
+ * Ties are broken on id in the same direction, which makes every ordering usable for keyset paging.
+ */
+public enum TaskSort {
+    CREATED_AT_DESC("-createdAt", "createdAt", Sort.Direction.DESC, false, Task::getCreatedAt),
+    CREATED_AT_ASC("createdAt", "createdAt", Sort.Direction.ASC, false, Task::getCreatedAt),
+    DUE_DATE_ASC("dueDate", "dueDate", Sort.Direction.ASC, true, Task::getDueDate),
+    DUE_DATE_DESC("-dueDate", "dueDate", Sort.Direction.DESC, true, Task::getDueDate);
+
+    public static final String DEFAULT_PARAM = "-createdAt";
+
+    private final String param;
+    private final String property;
+    private final Sort.Direction direction;
+    private final boolean nullable;
+    private final Function<Task, LocalDateTime> key;
+
+    TaskSort(String param, String property, Sort.Direction direction, boolean nullable,
+             Function<Task, LocalDateTime> key) {
+        this.param = param;
+        this.property = property;
+        this.direction = direction;
+        this.nullable = nullable;
+        this.key = key;
+    }
+
+    public static TaskSort fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(sort -> sort.param.equals(param))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort '" + param + "', expected one of "
+                        + Arrays.stream(values()).map(sort -> sort.param).collect(Collectors.joining(", "))));
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public Sort.Direction direction() {
+        return direction;
+    }
+
+    // Nullable keys sort NULLS LAST ascending and NULLS FIRST descending, Postgres' default
+    public boolean nullable() {
+        return nullable;
+    }
+
+    public LocalDateTime keyOf(Task task) {
+        return key.apply(task);
+    }
+
+    public Sort toSort() {
+        return Sort.by(direction, property).and(Sort.by(direction, "id"));
+    }
+}
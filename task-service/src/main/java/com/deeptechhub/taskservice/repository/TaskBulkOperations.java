@@ -0,0 +1,27 @@
+package com.deeptechhub.taskservice.repository;
+
+import com.deeptechhub.taskservice.domain.Task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Set-based writes over a user's tasks, selected by id or by optional filters.
+ * A null filter argument matches every task of the user. Each returns the rows it wrote as they are after
+ * the write, or as they were before it for deletes, so callers can record events for them.
+ */
+public interface TaskBulkOperations {
+    List<Task> completeByIds(Long[] ids, Long userId, LocalDateTime now);
+
+    List<Task> shiftDueDateByIds(Long[] ids, Long userId, Duration shift, LocalDateTime now);
+
+    List<Task> deleteByIds(Long[] ids, Long userId);
+
+    List<Task> completeMatching(Long userId, Boolean completed, LocalDateTime dueBefore, LocalDateTime now);
+
+    List<Task> shiftDueDateMatching(Long userId, Boolean completed, LocalDateTime dueBefore, Duration shift,
+                                    LocalDateTime now);
+
+    List<Task> deleteMatching(Long userId, Boolean completed, LocalDateTime dueBefore);
+}
@@ -0,0 +1,103 @@
+package com.deeptechhub.taskservice.repository;
+
+import com.deeptechhub.taskservice.domain.Task;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds native UPDATE and DELETE statements with a RETURNING * clause, so the affected rows come back from
+ * the same statement that writes them. Only the supplied filters end up in the WHERE clause.
+ * Hibernate does not see what these statements change, so they evict the written tasks from the
+ * second-level cache themselves when it is enabled.
+ */
+public class TaskBulkOperationsImpl implements TaskBulkOperations {
+    private static final String COMPLETE = "UPDATE tasks SET completed = true, updated_at = :now, version = version + 1";
+    private static final String SHIFT_DUE_DATE = "UPDATE tasks SET due_date = due_date + :shiftSeconds * INTERVAL '1 second', "
+            + "updated_at = :now, version = version + 1";
+    private static final String DELETE = "DELETE FROM tasks";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Task> completeByIds(Long[] ids, Long userId, LocalDateTime now) {
+        return writeByIds(COMPLETE, ids, userId, Map.of("now", now));
+    }
+
+    @Override
+    public List<Task> shiftDueDateByIds(Long[] ids, Long userId, Duration shift, LocalDateTime now) {
+        return writeByIds(SHIFT_DUE_DATE, ids, userId, Map.of("shiftSeconds", shift.toSeconds(), "now", now));
+    }
+
+    @Override
+    public List<Task> deleteByIds(Long[] ids, Long userId) {
+        return writeByIds(DELETE, ids, userId, Map.of());
+    }
+
+    @Override
+    public List<Task> completeMatching(Long userId, Boolean completed, LocalDateTime dueBefore, LocalDateTime now) {
+        return writeMatching(COMPLETE, userId, completed, dueBefore, Map.of("now", now));
+    }
+
+    @Override
+    public List<Task> shiftDueDateMatching(Long userId, Boolean completed, LocalDateTime dueBefore,
+                                           Duration shift, LocalDateTime now) {
+        return writeMatching(SHIFT_DUE_DATE, userId, completed, dueBefore,
+                Map.of("shiftSeconds", shift.toSeconds(), "now", now));
+    }
+
+    @Override
+    public List<Task> deleteMatching(Long userId, Boolean completed, LocalDateTime dueBefore) {
+        return writeMatching(DELETE, userId, completed, dueBefore, Map.of());
+    }
+
+    // One statement with a single array parameter, always scoped to the owner
+    private List<Task> writeByIds(String statement, Long[] ids, Long userId, Map<String, Object> parameters) {
+        Map<String, Object> allParameters = new LinkedHashMap<>(parameters);
+        allParameters.put("ids", ids);
+        allParameters.put("userId", userId);
+        return writeReturning(statement + " WHERE id = ANY(:ids) AND created_by_user_id = :userId", allParameters);
+    }
+
+    private List<Task> writeMatching(String statement, Long userId, Boolean completed, LocalDateTime dueBefore,
+                                     Map<String, Object> parameters) {
+        Map<String, Object> allParameters = new LinkedHashMap<>(parameters);
+        StringBuilder sql = new StringBuilder(statement).append(" WHERE created_by_user_id = :userId");
+        allParameters.put("userId", userId);
+
+        if(completed != null) {
+            sql.append(" AND completed = :completed");
+            allParameters.put("completed", completed);
+        }
+
+        if(dueBefore != null) {
+            sql.append(" AND due_date < :dueBefore");
+            allParameters.put("dueBefore", dueBefore);
+        }
+
+        return writeReturning(sql.toString(), allParameters);
+    }
+
+    private List<Task> writeReturning(String sql, Map<String, Object> parameters) {
+        // A managed copy of a task would otherwise be returned instead of the row read back from the database
+        entityManager.flush();
+        entityManager.clear();
+
+        Query query = entityManager.createNativeQuery(sql + " RETURNING *", Task.class);
+        parameters.forEach(query::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Task> written = query.getResultList();
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        written.forEach(task -> cache.evict(Task.class, task.getId()));
+        return written;
+    }
+}
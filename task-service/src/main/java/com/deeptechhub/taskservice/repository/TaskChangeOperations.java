@@ -0,0 +1,27 @@
+package com.deeptechhub.taskservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reading the change feed kept by the change_seq column of tasks and the task_tombstones table.
+ */
+public interface TaskChangeOperations {
+    /**
+     * A task written or deleted at changeSeq, the id of the transaction that did it.
+     */
+    record Change(Long taskId, long changeSeq, boolean deleted) {
+    }
+
+    /**
+     * Returns the user's changes after (afterSeq, afterId) in (changeSeq, taskId) order, only up to the
+     * oldest transaction still running so that no later commit can land behind the returned ones.
+     * Deletes are left out when includeDeletes is false, e.g. on a first sync.
+     */
+    List<Change> findChanges(Long userId, long afterSeq, long afterId, boolean includeDeletes, int limit);
+
+    /**
+     * Deletes the tombstones of tasks deleted before the cutoff, returning how many were removed.
+     */
+    int purgeTombstones(LocalDateTime cutoff);
+}
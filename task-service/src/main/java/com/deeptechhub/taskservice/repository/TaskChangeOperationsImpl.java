@@ -0,0 +1,60 @@
+package com.deeptechhub.taskservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Merges live tasks and tombstones in one statement. Each branch is a range scan of its
+ * (user, change_seq, id) index that stops at the limit, so a page costs O(limit) however many tasks the user has.
+ */
+public class TaskChangeOperationsImpl implements TaskChangeOperations {
+    private static final String FIND_CHANGES = """
+            WITH horizon AS (
+                SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint) AS change_seq
+            )
+            (SELECT t.id AS task_id, t.change_seq, false AS deleted
+             FROM tasks t, horizon h
+             WHERE t.created_by_user_id = :userId
+               AND (t.change_seq, t.id) > (:afterSeq, :afterId) AND t.change_seq < h.change_seq
+             ORDER BY t.change_seq, t.id
+             LIMIT :limit)
+            UNION ALL
+            (SELECT d.task_id, d.change_seq, true AS deleted
+             FROM task_tombstones d, horizon h
+             WHERE :includeDeletes AND d.user_id = :userId
+               AND (d.change_seq, d.task_id) > (:afterSeq, :afterId) AND d.change_seq < h.change_seq
+             ORDER BY d.change_seq, d.task_id
+             LIMIT :limit)
+            ORDER BY change_seq, task_id
+            LIMIT :limit
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Change> findChanges(Long userId, long afterSeq, long afterId, boolean includeDeletes, int limit) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(FIND_CHANGES)
+                .setParameter("userId", userId)
+                .setParameter("afterSeq", afterSeq)
+                .setParameter("afterId", afterId)
+                .setParameter("includeDeletes", includeDeletes)
+                .setParameter("limit", limit)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new Change(((Number) row[0]).longValue(), ((Number) row[1]).longValue(), (Boolean) row[2]))
+                .toList();
+    }
+
+    @Override
+    public int purgeTombstones(LocalDateTime cutoff) {
+        return entityManager.createNativeQuery("DELETE FROM task_tombstones WHERE deleted_at < :cutoff")
+                .setParameter("cutoff", cutoff)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,16 @@
+package com.deeptechhub.taskservice.repository;
+
+import com.deeptechhub.taskservice.domain.TaskEvent;
+
+import java.util.List;
+
+/**
+ * Appending to the task event outbox.
+ */
+public interface TaskEventOperations {
+    /**
+     * Inserts the events with one statement, numbering them in list order.
+     * The ids and creation times are assigned by the database and not set on the passed events.
+     */
+    void append(List<TaskEvent> events);
+}
@@ -0,0 +1,38 @@
+package com.deeptechhub.taskservice.repository;
+
+import com.deeptechhub.taskservice.domain.TaskEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+
+/**
+ * A single INSERT ... SELECT FROM unnest(...) instead of one insert per event: the ids come from the
+ * BIGSERIAL, which rules out JDBC batching through Hibernate.
+ */
+public class TaskEventOperationsImpl implements TaskEventOperations {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void append(List<TaskEvent> events) {
+        if(events.isEmpty()) {
+            return;
+        }
+
+        entityManager.createNativeQuery("""
+                        INSERT INTO task_events (task_id, user_id, type, payload)
+                        SELECT task_id, user_id, type, CAST(payload AS jsonb)
+                        FROM unnest(CAST(:taskIds AS bigint[]), CAST(:userIds AS bigint[]),
+                                    CAST(:types AS varchar[]), CAST(:payloads AS text[]))
+                             WITH ORDINALITY AS event(task_id, user_id, type, payload, position)
+                        ORDER BY position
+                        """)
+                .setParameter("taskIds", events.stream().map(TaskEvent::getTaskId).toArray(Long[]::new))
+                .setParameter("userIds", events.stream().map(TaskEvent::getUserId).toArray(Long[]::new))
+                .setParameter("types", events.stream().map(event -> event.getType().name()).toArray(String[]::new))
+                .setParameter("payloads", events.stream().map(TaskEvent::getPayload).toArray(String[]::new))
+                .executeUpdate();
+    }
+}
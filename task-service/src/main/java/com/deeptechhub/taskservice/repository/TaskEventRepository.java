@@ -0,0 +1,35 @@
+package com.deeptechhub.taskservice.repository;
+
+import com.deeptechhub.taskservice.domain.TaskEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TaskEventRepository extends JpaRepository<TaskEvent, Long>, TaskEventOperations {
+
+    // Oldest events not already claimed by another relay; the row locks are held until the transaction ends
+    @Query(value = "SELECT * FROM task_events ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<TaskEvent> lockNextBatch(@Param("limit") int limit);
+
+    // Tasks having an event older than their first event in the batch, i.e. one another relay still holds
+    @Query(value = """
+            SELECT DISTINCT e.task_id
+            FROM task_events e
+            JOIN unnest(CAST(:taskIds AS bigint[]), CAST(:firstEventIds AS bigint[])) AS batch(task_id, first_event_id)
+              ON e.task_id = batch.task_id AND e.id < batch.first_event_id
+            """, nativeQuery = true)
+    List<Long> findTasksWithEarlierEvents(@Param("taskIds") Long[] taskIds,
+                                          @Param("firstEventIds") Long[] firstEventIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM task_events WHERE id = ANY(:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") Long[] ids);
+
+    // Seconds the oldest unpublished event has been waiting, null when the outbox is empty
+    @Query(value = "SELECT CAST(EXTRACT(EPOCH FROM LOCALTIMESTAMP - MIN(created_at)) AS double precision) FROM task_events",
+            nativeQuery = true)
+    Double findOldestEventAgeSeconds();
+}
@@ -0,0 +1,34 @@
+package com.deeptechhub.taskservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Finding and claiming due-date reminders, which are tracked per task in the task_reminders table.
+ */
+public interface TaskReminderOperations {
+    /**
+     * An open task whose reminder for dueDate has not been sent yet.
+     */
+    record PendingReminder(Long taskId, LocalDateTime dueDate) {
+    }
+
+    /**
+     * Returns pending reminders of tasks due after (afterDueDate, afterId) and up to until, in (dueDate, taskId)
+     * order.
+     */
+    List<PendingReminder> findPendingReminders(LocalDateTime afterDueDate, long afterId, LocalDateTime until,
+                                               int limit);
+
+    /**
+     * Returns the pending reminders of the given tasks, whatever their due date.
+     */
+    List<PendingReminder> findPendingReminders(Long[] taskIds);
+
+    /**
+     * Records the reminders of the given tasks as sent for their current due date and returns the ids claimed.
+     * Only open tasks due within [dueFrom, dueUntil] are claimed, and only if no reminder was sent yet for that
+     * due date. The claimed tasks stay locked until the transaction ends.
+     */
+    List<Long> claimReminders(Long[] taskIds, LocalDateTime dueFrom, LocalDateTime dueUntil, LocalDateTime now);
+}
@@ -0,0 +1,92 @@
+package com.deeptechhub.taskservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Pending reminders are read in index order from the partial index idx_tasks_open_due_date_id, so a load costs
+ * O(limit) however many open tasks there are.
+ */
+public class TaskReminderOperationsImpl implements TaskReminderOperations {
+    // Tasks already reminded of their current due date are skipped with a primary key lookup in task_reminders
+    private static final String FIND_PENDING = """
+            SELECT t.id, t.due_date FROM tasks t
+            WHERE t.completed = false AND (t.due_date, t.id) > (:afterDueDate, :afterId) AND t.due_date <= :until
+              AND NOT EXISTS (SELECT 1 FROM task_reminders r WHERE r.task_id = t.id AND r.due_date = t.due_date)
+            ORDER BY t.due_date, t.id
+            LIMIT :limit
+            """;
+
+    private static final String FIND_PENDING_BY_IDS = """
+            SELECT t.id, t.due_date FROM tasks t
+            WHERE t.id = ANY(:ids) AND t.completed = false AND t.due_date IS NOT NULL
+              AND NOT EXISTS (SELECT 1 FROM task_reminders r WHERE r.task_id = t.id AND r.due_date = t.due_date)
+            """;
+
+    // Locking the tasks first keeps the reminder event behind any concurrent change of the task in the outbox
+    private static final String CLAIM = """
+            WITH due AS (
+                SELECT t.id, t.due_date FROM tasks t
+                WHERE t.id = ANY(:ids) AND t.completed = false AND t.due_date BETWEEN :dueFrom AND :dueUntil
+                ORDER BY t.id
+                FOR NO KEY UPDATE
+            )
+            INSERT INTO task_reminders (task_id, due_date, reminded_at)
+            SELECT id, due_date, :now FROM due
+            ON CONFLICT (task_id) DO UPDATE SET due_date = EXCLUDED.due_date, reminded_at = EXCLUDED.reminded_at
+            WHERE task_reminders.due_date <> EXCLUDED.due_date
+            RETURNING task_id
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PendingReminder> findPendingReminders(LocalDateTime afterDueDate, long afterId, LocalDateTime until,
+                                                      int limit) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(FIND_PENDING)
+                .setParameter("afterDueDate", afterDueDate)
+                .setParameter("afterId", afterId)
+                .setParameter("until", until)
+                .setParameter("limit", limit)
+                .getResultList();
+        return toPendingReminders(rows);
+    }
+
+    @Override
+    public List<PendingReminder> findPendingReminders(Long[] taskIds) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(FIND_PENDING_BY_IDS)
+                .setParameter("ids", taskIds)
+                .getResultList();
+        return toPendingReminders(rows);
+    }
+
+    @Override
+    public List<Long> claimReminders(Long[] taskIds, LocalDateTime dueFrom, LocalDateTime dueUntil,
+                                     LocalDateTime now) {
+        @SuppressWarnings("unchecked")
+        List<Number> claimed = entityManager.createNativeQuery(CLAIM)
+                .setParameter("ids", taskIds)
+                .setParameter("dueFrom", dueFrom)
+                .setParameter("dueUntil", dueUntil)
+                .setParameter("now", now)
+                .getResultList();
+        return claimed.stream().map(Number::longValue).toList();
+    }
+
+    private static List<PendingReminder> toPendingReminders(List<Object[]> rows) {
+        return rows.stream()
+                .map(row -> new PendingReminder(((Number) row[0]).longValue(), toLocalDateTime(row[1])))
+                .toList();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -1,11 +1,81 @@
 package com.deeptechhub.taskservice.repository;
 
 import com.deeptechhub.taskservice.domain.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskBulkOperations, TaskUpdateOperations, TaskSearchOperations, TaskChangeOperations,
+        TaskReminderOperations {
     List<Task> findByCreatedByUserId(Long userId); // Custom query
 
+    // Keyset pagination over all users ordered by (createdAt, id) descending, newest first.
+    // Per-user lists are filtered and sorted through TaskSpecifications instead.
+    List<Task> findAllByOrderByCreatedAtDescIdDesc(Limit limit);
+
+    @Query("""
+            select t from Task t
+            where (t.createdAt, t.id) < (:createdAt, :id)
+            order by t.createdAt desc, t.id desc
+            """)
+    List<Task> findAllTasksAfter(@Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id,
+                                 Limit limit);
+
+    // Multi-get: a primary key lookup per id with a single array parameter, only returning the owner's tasks
+    @Query(value = "SELECT * FROM tasks WHERE id = ANY(:ids) AND created_by_user_id = :userId", nativeQuery = true)
+    List<Task> findOwnedByIds(@Param("ids") Long[] ids, @Param("userId") Long userId);
+
+    // ETag of GET /api/tasks/{id}, compared before loading the task
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // ETag of the user's task lists: task_list_versions (V11) is raised by every committed write to their tasks.
+    // 0 until the user first writes one.
+    @Query(value = """
+            SELECT CAST(COALESCE((SELECT version FROM task_list_versions WHERE user_id = :userId), 0) AS text)
+            """, nativeQuery = true)
+    String findListVersion(@Param("userId") Long userId);
+
+    // Server-side cursor for exports; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamAllByOrderByIdAsc();
+
+    // Typeahead: distinct titles whose lower case falls in [from, to), i.e. starts with the typed text,
+    // read in index order so the scan stops after limit titles
+    @Query(value = """
+            SELECT title FROM tasks
+            WHERE created_by_user_id = :userId
+              AND lower(title) COLLATE "C" >= :from AND lower(title) COLLATE "C" < :to
+            GROUP BY lower(title) COLLATE "C", title
+            ORDER BY lower(title) COLLATE "C", title
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findTitlesStartingWith(@Param("userId") Long userId, @Param("from") String from,
+                                        @Param("to") String to, @Param("limit") int limit);
+
+    // Typeahead: titles containing the typed text further in, unordered and not de-duplicated so the
+    // scan can stop early. Callers rank the rows themselves.
+    @Query(value = """
+            SELECT title FROM tasks
+            WHERE created_by_user_id = :userId AND lower(title) LIKE :pattern ESCAPE '\\'
+              AND NOT (lower(title) COLLATE "C" >= :from AND lower(title) COLLATE "C" < :to)
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findTitlesContaining(@Param("userId") Long userId, @Param("pattern") String pattern,
+                                      @Param("from") String from, @Param("to") String to, @Param("limit") int limit);
 }
@@ -0,0 +1,23 @@
+package com.deeptechhub.taskservice.repository;
+
+import com.deeptechhub.taskservice.domain.Task;
+
+import java.util.List;
+
+/**
+ * Full-text search over the generated search_vector column of tasks.
+ */
+public interface TaskSearchOperations {
+    /**
+     * A matching task and its ts_rank, which together with the id positions the next page.
+     */
+    record Hit(Task task, float rank) {
+    }
+
+    /**
+     * Returns the user's tasks matching the web-search style query, best match first
+     * (ties by id descending). When afterRank and afterId are given only hits after that
+     * position are returned.
+     */
+    List<Hit> search(Long userId, String query, Float afterRank, Long afterId, int limit);
+}
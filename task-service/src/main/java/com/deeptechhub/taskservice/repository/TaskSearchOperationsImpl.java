@@ -0,0 +1,51 @@
+package com.deeptechhub.taskservice.repository;
+
+import com.deeptechhub.taskservice.domain.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+
+/**
+ * Matches with the GIN-indexed search_vector and ranks with ts_rank in the same statement.
+ * The rank is selected next to the entity so the caller can build a keyset cursor from it.
+ */
+public class TaskSearchOperationsImpl implements TaskSearchOperations {
+    private static final String SELECT = """
+            SELECT {t.*}, ts_rank(t.search_vector, query) AS rank
+            FROM tasks t, websearch_to_tsquery('english', :query) query
+            WHERE t.created_by_user_id = :userId AND t.search_vector @@ query
+            """;
+    private static final String AFTER = """
+            AND (ts_rank(t.search_vector, query), t.id) < (:afterRank, :afterId)
+            """;
+    private static final String ORDER_BY = "ORDER BY rank DESC, t.id DESC LIMIT :limit";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Hit> search(Long userId, String query, Float afterRank, Long afterId, int limit) {
+        boolean paged = afterRank != null && afterId != null;
+
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> nativeQuery = entityManager
+                .createNativeQuery(SELECT + (paged ? AFTER : "") + ORDER_BY)
+                .unwrap(NativeQuery.class)
+                .addEntity("t", Task.class)
+                .addScalar("rank", StandardBasicTypes.FLOAT);
+        nativeQuery.setParameter("query", query);
+        nativeQuery.setParameter("userId", userId);
+        nativeQuery.setParameter("limit", limit);
+        if(paged) {
+            nativeQuery.setParameter("afterRank", afterRank);
+            nativeQuery.setParameter("afterId", afterId);
+        }
+
+        return nativeQuery.getResultList().stream()
+                .map(row -> new Hit((Task) row[0], (Float) row[1]))
+                .toList();
+    }
+}
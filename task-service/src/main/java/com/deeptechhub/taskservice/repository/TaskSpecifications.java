@@ -0,0 +1,100 @@
+package com.deeptechhub.taskservice.repository;
+
+import com.deeptechhub.taskservice.domain.Task;
+import com.deeptechhub.taskservice.dto.TaskCursor;
+import com.deeptechhub.taskservice.dto.TaskQuery;
+import com.deeptechhub.taskservice.dto.TaskSort;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Building blocks for task list queries. Everything is pushed into the WHERE clause so that
+ * filtering happens in Postgres rather than on the client.
+ */
+public final class TaskSpecifications {
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(Long userId, TaskQuery query) {
+        List<Specification<Task>> specifications = new ArrayList<>();
+        specifications.add(ownedBy(userId));
+        if (query.completed() != null) {
+            specifications.add(completed(query.completed()));
+        }
+        if (query.dueBefore() != null) {
+            specifications.add(dueBefore(query.dueBefore()));
+        }
+        if (query.dueAfter() != null) {
+            specifications.add(dueAfter(query.dueAfter()));
+        }
+        if (StringUtils.isNotBlank(query.q())) {
+            specifications.add(titleOrDescriptionContains(query.q()));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    public static Specification<Task> ownedBy(Long userId) {
+        return (root, criteriaQuery, cb) -> cb.equal(root.get("createdByUserId"), userId);
+    }
+
+    public static Specification<Task> completed(boolean completed) {
+        return (root, criteriaQuery, cb) -> cb.equal(root.get("completed"), completed);
+    }
+
+    public static Specification<Task> dueBefore(LocalDateTime dueBefore) {
+        return (root, criteriaQuery, cb) -> cb.lessThan(root.get("dueDate"), dueBefore);
+    }
+
+    public static Specification<Task> dueAfter(LocalDateTime dueAfter) {
+        return (root, criteriaQuery, cb) -> cb.greaterThan(root.get("dueDate"), dueAfter);
+    }
+
+    public static Specification<Task> titleOrDescriptionContains(String text) {
+        String pattern = "%" + escapeLike(text.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, criteriaQuery, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern, LIKE_ESCAPE),
+                cb.like(cb.lower(root.get("description")), pattern, LIKE_ESCAPE));
+    }
+
+    /**
+     * Rows strictly after the cursor in the given ordering, ties on the key broken by id.
+     */
+    public static Specification<Task> after(TaskSort sort, TaskCursor cursor) {
+        return (root, criteriaQuery, cb) -> {
+            Path<LocalDateTime> key = root.get(sort.property());
+            Path<Long> id = root.get("id");
+            boolean ascending = sort.direction() == Sort.Direction.ASC;
+
+            if (cursor.key() == null) {
+                // Only nullable keys produce such a cursor. Nulls come last ascending, first descending.
+                Predicate sameKey = cb.and(cb.isNull(key), idAfter(cb, id, cursor.id(), ascending));
+                return ascending ? sameKey : cb.or(sameKey, cb.isNotNull(key));
+            }
+
+            Predicate afterKey = cb.or(
+                    ascending ? cb.greaterThan(key, cursor.key()) : cb.lessThan(key, cursor.key()),
+                    cb.and(cb.equal(key, cursor.key()), idAfter(cb, id, cursor.id(), ascending)));
+            return sort.nullable() && ascending ? cb.or(afterKey, cb.isNull(key)) : afterKey;
+        };
+    }
+
+    private static Predicate idAfter(CriteriaBuilder cb, Expression<Long> id, Long cursorId, boolean ascending) {
+        return ascending ? cb.greaterThan(id, cursorId) : cb.lessThan(id, cursorId);
+    }
+
+    public static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,32 @@
+package com.deeptechhub.taskservice.repository;
+
+import com.deeptechhub.taskservice.domain.Task;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Single task writes that change and read back the row in one statement.
+ */
+public interface TaskUpdateOperations {
+    /**
+     * Updates only the non-null arguments of the task, increments its version and returns the updated row,
+     * or an empty Optional when no task exists with that id or, if expectedVersion is given, with that version.
+     */
+    Optional<Task> updateReturning(Long id, String title, String description, LocalDateTime dueDate,
+                                   Long expectedVersion, LocalDateTime now);
+
+    /**
+     * Writes the given columns of the task, null values clearing them, increments its version and returns the
+     * updated row, or an empty Optional when no task exists with that id and expectedVersion.
+     * Only title, description, due_date and completed can be written.
+     */
+    Optional<Task> patchReturning(Long id, Map<String, Object> columns, long expectedVersion, LocalDateTime now);
+
+    /**
+     * Deletes the task and returns the id of the user who owned it,
+     * or an empty Optional when no task exists with that id.
+     */
+    Optional<Long> deleteReturningOwnerId(Long id);
+}
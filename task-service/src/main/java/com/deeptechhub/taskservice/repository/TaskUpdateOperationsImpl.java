@@ -0,0 +1,106 @@
+package com.deeptechhub.taskservice.repository;
+
+import com.deeptechhub.taskservice.domain.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Builds an UPDATE ... RETURNING * with a SET clause for the supplied columns only,
+ * so there is no need to load the row before writing it.
+ * Hibernate does not see what these native statements change, so they evict the task from the
+ * second-level cache themselves when it is enabled.
+ */
+public class TaskUpdateOperationsImpl implements TaskUpdateOperations {
+    private static final Set<String> PATCHABLE_COLUMNS = Set.of("title", "description", "due_date", "completed");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Task> updateReturning(Long id, String title, String description,
+                                          LocalDateTime dueDate, Long expectedVersion, LocalDateTime now) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        if(title != null) {
+            columns.put("title", title);
+        }
+        if(description != null) {
+            columns.put("description", description);
+        }
+        if(dueDate != null) {
+            columns.put("due_date", dueDate);
+        }
+        return updateColumnsReturning(id, columns, expectedVersion, now);
+    }
+
+    @Override
+    public Optional<Task> patchReturning(Long id, Map<String, Object> columns, long expectedVersion,
+                                         LocalDateTime now) {
+        if(!PATCHABLE_COLUMNS.containsAll(columns.keySet())) {
+            throw new IllegalArgumentException("Only " + PATCHABLE_COLUMNS + " can be patched, got " + columns.keySet());
+        }
+        return updateColumnsReturning(id, columns, expectedVersion, now);
+    }
+
+    private Optional<Task> updateColumnsReturning(Long id, Map<String, Object> columns, Long expectedVersion,
+                                                  LocalDateTime now) {
+        // Nulls are written as literals: an untyped null parameter leaves Postgres guessing the column type
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("UPDATE tasks SET ");
+        columns.forEach((column, value) -> {
+            if(value == null) {
+                sql.append(column).append(" = NULL, ");
+            } else {
+                sql.append(column).append(" = :").append(column).append(", ");
+                parameters.put(column, value);
+            }
+        });
+        sql.append("updated_at = :updated_at, version = version + 1 WHERE id = :id");
+        parameters.put("updated_at", now);
+        if(expectedVersion != null) {
+            // Compared in the same statement, so a concurrent write in between cannot be overwritten
+            sql.append(" AND version = :expectedVersion");
+        }
+        sql.append(" RETURNING *");
+
+        // Same as @Modifying(flushAutomatically = true, clearAutomatically = true): a managed copy of the
+        // task would otherwise be returned instead of the row read back from the database
+        entityManager.flush();
+        entityManager.clear();
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Task.class);
+        parameters.forEach(query::setParameter);
+        query.setParameter("id", id);
+        if(expectedVersion != null) {
+            query.setParameter("expectedVersion", expectedVersion);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Task> updated = query.getResultList();
+        evictFromSecondLevelCache(id);
+        return updated.stream().findFirst();
+    }
+
+    @Override
+    public Optional<Long> deleteReturningOwnerId(Long id) {
+        // A query rather than executeUpdate(): the RETURNING clause yields the owner of the deleted row
+        @SuppressWarnings("unchecked")
+        List<Long> owners = entityManager.createNativeQuery(
+                        "DELETE FROM tasks WHERE id = :id RETURNING created_by_user_id", Long.class)
+                .setParameter("id", id)
+                .getResultList();
+        evictFromSecondLevelCache(id);
+        return owners.stream().findFirst();
+    }
+
+    private void evictFromSecondLevelCache(Long id) {
+        entityManager.getEntityManagerFactory().getCache().evict(Task.class, id);
+    }
+}
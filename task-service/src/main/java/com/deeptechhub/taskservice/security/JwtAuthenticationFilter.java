@@ -1,7 +1,8 @@
 package com.deeptechhub.taskservice.security;
 
 import com.deeptechhub.common.dto.UserDto;
-import com.deeptechhub.taskservice.client.IdentityServiceClient;
+import com.deeptechhub.common.security.VerifiedToken;
+import com.deeptechhub.taskservice.config.JwtProperties;
 import feign.FeignException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -28,7 +29,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsMapper userDetailsMapper;
-    private final IdentityServiceClient identityServiceClient;
+    private final UserLookupCache userLookupCache;
+    private final JwtProperties jwtProperties;
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     @Override
@@ -45,33 +47,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        final String jwtToken = authHeader.substring(7);
-        final String username = jwtService.extractUsername(jwtToken);
+        // Parse the token once; the verified claims are used for the rest of the request
+        final VerifiedToken verifiedToken = jwtService.verify(authHeader.substring(7));
+        final String username = verifiedToken.username();
         log.debug("Username has been extracted as {}", username);
 
         if(username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            //Get the user details from identity-service
-            UserDto userDto = null;
-            try {
-                userDto = identityServiceClient.getUserByUsername(username);
-            } catch (FeignException.Forbidden ex) {
-                log.warn("Access forbidden for user {} when calling identity-service: {}", username, ex.getMessage());
-                response.sendError(HttpServletResponse.SC_FORBIDDEN, "Access denied");
-                return;
-            } catch (FeignException.Unauthorized ex) {
-                log.warn("Unauthorized access for user {} when calling identity-service: {}", username, ex.getMessage());
-                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized");
-                return;
+            // In stateless auth mode the user comes from the token; older tokens without the claims fall back to the lookup
+            UserDto userDto = jwtProperties.isStatelessAuth() ? verifiedToken.user().orElse(null) : null;
+
+            //Get the user details from identity-service, usually from the local cache
+            if(userDto == null) {
+                try {
+                    userDto = userLookupCache.getUser(username, authHeader);
+                } catch (FeignException.Forbidden ex) {
+                    log.warn("Access forbidden for user {} when calling identity-service: {}", username, ex.getMessage());
+                    response.sendError(HttpServletResponse.SC_FORBIDDEN, "Access denied");
+                    return;
+                } catch (FeignException.Unauthorized ex) {
+                    log.warn("Unauthorized access for user {} when calling identity-service: {}", username, ex.getMessage());
+                    response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized");
+                    return;
+                }
             }
 
             UserDetails userDetails = userDetailsMapper.toUserDetails(userDto);
 
-            boolean isTokenValid = jwtService.isTokenValid(jwtToken, userDto);
+            boolean isTokenValid = verifiedToken.isValidFor(userDto.getUsername());
             log.debug("The token is valid");
 
             if(isTokenValid) {
                 UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, jwtToken, userDetails.getAuthorities());
+                        new UsernamePasswordAuthenticationToken(userDetails, verifiedToken, userDetails.getAuthorities());
 
                 authToken.setDetails(userDto); //Set userDto in the securityContext
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -1,10 +1,12 @@
 package com.deeptechhub.taskservice.security;
 
-import com.deeptechhub.common.dto.UserDto;
-import org.springframework.security.core.userdetails.UserDetails;
+import com.deeptechhub.common.security.VerifiedToken;
 
 public interface JwtService {
     String extractUsername(String token);
 
-    boolean isTokenValid(String token, UserDto userDetails);
+    /**
+     * Verifies the signature of a token and reads its claims in a single parse.
+     */
+    VerifiedToken verify(String token);
 }
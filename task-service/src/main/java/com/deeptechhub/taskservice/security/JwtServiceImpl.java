@@ -1,6 +1,6 @@
 package com.deeptechhub.taskservice.security;
 
-import com.deeptechhub.common.dto.UserDto;
+import com.deeptechhub.common.security.VerifiedToken;
 import com.deeptechhub.taskservice.exception.JwtAuthenticationException;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
@@ -15,7 +15,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
-import java.util.Date;
 import java.util.function.Function;
 
 @Service
@@ -43,13 +42,8 @@ public class JwtServiceImpl implements JwtService {
     }
 
     @Override
-    public boolean isTokenValid(String token, UserDto userDto) {
-        final String username = extractUsername(token);
-        return username.equals(userDto.getUsername()) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return getClaim(token, Claims::getExpiration).before(new Date());
+    public VerifiedToken verify(String token) {
+        return VerifiedToken.of(token, getAllClaims(token));
     }
 
     private <T> T getClaim(String token, Function<Claims, T> claimsResolver) {
@@ -14,6 +14,10 @@ public class JwtTokenPropagator implements RequestInterceptor {
 
     @Override
     public void apply(RequestTemplate template) {
+        if(template.headers().containsKey(AUTHORIZATION)) {
+            return; // Set explicitly by the caller
+        }
+
         var requestAttributes = RequestContextHolder.getRequestAttributes();
 
         if(requestAttributes instanceof ServletRequestAttributes servletRequestAttributes) {
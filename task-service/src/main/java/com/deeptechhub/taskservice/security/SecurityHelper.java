@@ -16,6 +16,7 @@ public class SecurityHelper {
         var auth = SecurityContextHolder.getContext().getAuthentication();
 
         if(auth != null) {
+            // Set by JwtAuthenticationFilter, from the token claims or from identity-service
             if(auth.getDetails() instanceof UserDto userDto) {
                 return userDto;
             }
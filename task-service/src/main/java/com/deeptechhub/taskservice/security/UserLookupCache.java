@@ -0,0 +1,138 @@
+package com.deeptechhub.taskservice.security;
+
+import com.deeptechhub.common.dto.UserDto;
+import com.deeptechhub.taskservice.client.IdentityServiceClient;
+import com.deeptechhub.taskservice.config.UserCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Users of authenticated requests cached by username, so that most requests skip the call to identity-service.
+ * Concurrent misses for the same username share a single call, made by the first of them outside of any cache lock
+ * so that a virtual thread waiting on identity-service does not pin its carrier thread. An entry older than refreshAfter is still served
+ * while one background call fetches a fresh copy; if identity-service is slow or failing, the old copy keeps
+ * being served until it expires after ttl.
+ * Hit and miss counts are published as cache.gets{cache=identity-users}.
+ */
+@Component
+public class UserLookupCache {
+    private static final Logger log = LoggerFactory.getLogger(UserLookupCache.class);
+    static final String CACHE_NAME = "identity-users";
+
+    private final IdentityServiceClient identityServiceClient;
+    private final UserCacheProperties properties;
+    private final Executor refreshExecutor;
+    private final AsyncCache<String, CachedUser> users;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Counter refreshFailures;
+
+    @Autowired
+    public UserLookupCache(IdentityServiceClient identityServiceClient, UserCacheProperties properties,
+                           MeterRegistry meterRegistry) {
+        this(identityServiceClient, properties, meterRegistry, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    UserLookupCache(IdentityServiceClient identityServiceClient, UserCacheProperties properties,
+                    MeterRegistry meterRegistry, Executor refreshExecutor) {
+        this.identityServiceClient = identityServiceClient;
+        this.properties = properties;
+        this.refreshExecutor = refreshExecutor;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, CACHE_NAME);
+        this.refreshFailures = meterRegistry.counter("identity.users.refresh.failures");
+    }
+
+    /**
+     * Returns the user, calling identity-service with the caller's Authorization header on a miss.
+     * Errors of that call, such as FeignException.Unauthorized, are thrown as they are and not cached.
+     */
+    public UserDto getUser(String username, String authorization) {
+        CompletableFuture<CachedUser> pending = new CompletableFuture<>();
+        CompletableFuture<CachedUser> future = users.get(username, (key, executor) -> pending);
+        boolean loadedNow = future == pending;
+        if(loadedNow) {
+            try {
+                pending.complete(load(username, authorization));
+            } catch (Throwable ex) {
+                // Errors too, or callers waiting on the same future would hang; failed loads are dropped by Caffeine
+                pending.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+
+        CachedUser cached = await(future);
+        if(cached == null) {
+            return null;
+        }
+
+        if(!loadedNow && System.nanoTime() - cached.loadedAtNanos() >= properties.getRefreshAfter().toNanos()) {
+            refresh(username, authorization);
+        }
+        return cached.user();
+    }
+
+    private void refresh(String username, String authorization) {
+        if(!refreshing.add(username)) {
+            return; // Another request is already refreshing this user
+        }
+
+        refreshExecutor.execute(() -> {
+            try {
+                CachedUser refreshed = load(username, authorization);
+                if(refreshed == null) {
+                    users.synchronous().invalidate(username);
+                } else {
+                    users.put(username, CompletableFuture.completedFuture(refreshed));
+                }
+            } catch (FeignException.FeignClientException ex) {
+                // The user is gone or no longer allowed in; let the next request find out for itself
+                log.debug("Dropping cached user {} after identity-service answered {}", username, ex.status());
+                users.synchronous().invalidate(username);
+            } catch (RuntimeException ex) {
+                refreshFailures.increment();
+                log.warn("Could not refresh user {}, serving the cached copy: {}", username, ex.getMessage());
+            } finally {
+                refreshing.remove(username);
+            }
+        });
+    }
+
+    private static CachedUser await(CompletableFuture<CachedUser> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            // Rethrow what the shared call failed with, e.g. FeignException.Unauthorized
+            if(ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private CachedUser load(String username, String authorization) {
+        UserDto user = identityServiceClient.getUserByUsername(username, authorization);
+        return user == null ? null : new CachedUser(user, System.nanoTime());
+    }
+
+    private record CachedUser(UserDto user, long loadedAtNanos) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.taskservice.domain.Task;
+import com.deeptechhub.taskservice.domain.TaskEvent;
+import com.deeptechhub.taskservice.domain.TaskEventType;
+import com.deeptechhub.taskservice.dto.TaskEventPayload;
+import com.deeptechhub.taskservice.repository.TaskEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Records task changes in the task_events outbox. Callers must already be in the transaction that makes
+ * the change, so the event is stored if and only if the change commits; TaskEventRelay publishes it later.
+ * Record an event after writing the task row: the row lock is what keeps the events of a task in order.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskEventOutbox {
+    private final TaskEventRepository taskEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(List<Task> tasks) {
+        taskEventRepository.append(tasks.stream()
+                .map(task -> event(task.getId(), task.getCreatedByUserId(), TaskEventType.CREATED, task))
+                .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(Task task) {
+        taskEventRepository.append(List.of(event(task.getId(), task.getCreatedByUserId(), TaskEventType.UPDATED, task)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(List<Task> tasks) {
+        taskEventRepository.append(tasks.stream()
+                .map(task -> event(task.getId(), task.getCreatedByUserId(), TaskEventType.UPDATED, task))
+                .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long taskId, Long userId) {
+        taskEventRepository.append(List.of(event(taskId, userId, TaskEventType.DELETED, null)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(List<Task> tasks) {
+        taskEventRepository.append(tasks.stream()
+                .map(task -> event(task.getId(), task.getCreatedByUserId(), TaskEventType.DELETED, null))
+                .toList());
+    }
+
+    // Callers lock the tasks first, so the reminder is ordered after any concurrent change of the task
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReminders(List<Task> tasks) {
+        taskEventRepository.append(tasks.stream()
+                .map(task -> event(task.getId(), task.getCreatedByUserId(), TaskEventType.REMINDER, task))
+                .toList());
+    }
+
+    private TaskEvent event(Long taskId, Long userId, TaskEventType type, Task task) {
+        TaskEvent event = new TaskEvent();
+        event.setTaskId(taskId);
+        event.setUserId(userId);
+        event.setType(type);
+        event.setPayload(task == null ? null : toJson(TaskEventPayload.fromTask(task)));
+        return event;
+    }
+
+    private String toJson(TaskEventPayload payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the event of task " + payload.id(), e);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.taskservice.config.TaskOutboxProperties;
+import com.deeptechhub.taskservice.domain.TaskEvent;
+import com.deeptechhub.taskservice.repository.TaskEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the task_events outbox to the Redis stream tasks.outbox.stream-key, at least once and in order per task.
+ * Each batch is claimed with FOR UPDATE SKIP LOCKED, so every replica can relay without blocking the others,
+ * then published with one pipelined XADD per event and deleted in the same transaction. A failure anywhere
+ * rolls the batch back and it is published again, so consumers must skip event ids they have already seen.
+ * Events of a task whose older event is still held by another replica wait for the next round.
+ * Metrics: task.outbox.published (count), task.outbox.lag (commit to publish) and
+ * task.outbox.oldest.age (seconds the oldest unpublished event has waited).
+ */
+@Component
+@ConditionalOnProperty(prefix = "tasks.outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+public class TaskEventRelay {
+    private static final Logger log = LoggerFactory.getLogger(TaskEventRelay.class);
+    // Fields of the stream entries, also read by TaskEventStreamListener
+    static final String EVENT_ID = "eventId";
+    static final String TYPE = "type";
+    static final String TASK_ID = "taskId";
+    static final String USER_ID = "userId";
+    static final String CREATED_AT = "createdAt";
+    static final String PAYLOAD = "payload";
+
+    private final TaskEventRepository taskEventRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final TaskOutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter published;
+    private final Counter failures;
+    private final Timer lag;
+    private final AtomicLong oldestEventAgeMillis = new AtomicLong();
+
+    public TaskEventRelay(TaskEventRepository taskEventRepository, StringRedisTemplate redisTemplate,
+                          TaskOutboxProperties properties, PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        this.taskEventRepository = taskEventRepository;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.published = meterRegistry.counter("task.outbox.published");
+        this.failures = meterRegistry.counter("task.outbox.failures");
+        this.lag = Timer.builder("task.outbox.lag")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("task.outbox.oldest.age", oldestEventAgeMillis, millis -> millis.get() / 1000d)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.outbox.poll-interval:500ms}")
+    public void relay() {
+        try {
+            // Keep draining while batches come back full, then leave the rest for the next poll
+            for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+                Integer relayed = transactionTemplate.execute(status -> relayBatch());
+                if(relayed == null || relayed < properties.getBatchSize()) {
+                    break;
+                }
+            }
+
+            Double oldestEventAge = taskEventRepository.findOldestEventAgeSeconds();
+            oldestEventAgeMillis.set(oldestEventAge == null ? 0 : Math.round(oldestEventAge * 1000));
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Could not relay task events, retrying in {}", properties.getPollInterval(), e);
+        }
+    }
+
+    /**
+     * Publishes and deletes one batch, returning the number of events published.
+     */
+    int relayBatch() {
+        List<TaskEvent> batch = taskEventRepository.lockNextBatch(properties.getBatchSize());
+        if(batch.isEmpty()) {
+            return 0;
+        }
+
+        // The batch is in id order, so the first event seen for a task is its oldest one here
+        Map<Long, Long> firstEventIds = new LinkedHashMap<>();
+        batch.forEach(event -> firstEventIds.putIfAbsent(event.getTaskId(), event.getId()));
+        Set<Long> waiting = new HashSet<>(taskEventRepository.findTasksWithEarlierEvents(
+                firstEventIds.keySet().toArray(Long[]::new), firstEventIds.values().toArray(Long[]::new)));
+
+        List<TaskEvent> ready = batch.stream()
+                .filter(event -> !waiting.contains(event.getTaskId()))
+                .toList();
+        if(ready.isEmpty()) {
+            return 0;
+        }
+
+        publish(ready);
+        taskEventRepository.deleteByIds(ready.stream().map(TaskEvent::getId).toArray(Long[]::new));
+
+        // created_at is LOCALTIMESTAMP of the database session, which the driver sets to the JVM time zone
+        LocalDateTime now = LocalDateTime.now();
+        ready.forEach(event -> lag.record(Duration.between(event.getCreatedAt(), now)));
+        published.increment(ready.size());
+        log.debug("Published {} task events, {} held back behind older events", ready.size(), batch.size() - ready.size());
+        return ready.size();
+    }
+
+    private void publish(List<TaskEvent> events) {
+        byte[] streamKey = bytes(properties.getStreamKey());
+        RedisStreamCommands.XAddOptions options = RedisStreamCommands.XAddOptions
+                .maxlen(properties.getStreamMaxLength())
+                .approximateTrimming(true);
+
+        // Pipelined commands run in order on one connection, which keeps the stream in id order
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (TaskEvent event : events) {
+                connection.streamCommands().xAdd(MapRecord.create(streamKey, fields(event)), options);
+            }
+            return null;
+        });
+    }
+
+    private Map<byte[], byte[]> fields(TaskEvent event) {
+        Map<byte[], byte[]> fields = new LinkedHashMap<>();
+        fields.put(bytes(EVENT_ID), bytes(String.valueOf(event.getId())));
+        fields.put(bytes(TYPE), bytes(event.getType().name()));
+        fields.put(bytes(TASK_ID), bytes(String.valueOf(event.getTaskId())));
+        fields.put(bytes(USER_ID), bytes(String.valueOf(event.getUserId())));
+        fields.put(bytes(CREATED_AT), bytes(event.getCreatedAt().toString()));
+        if(event.getPayload() != null) {
+            fields.put(bytes(PAYLOAD), bytes(event.getPayload()));
+        }
+        return fields;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,108 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.taskservice.config.TaskOutboxProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the task event stream written by TaskEventRelay and hands every entry to TaskStreamHub.
+ * Every replica reads the whole stream, without a consumer group, since the subscribers of a user may be
+ * connected to any of them.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tasks.stream", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskEventStreamListener {
+    private static final Logger log = LoggerFactory.getLogger(TaskEventStreamListener.class);
+    private static final Duration ERROR_BACKOFF = Duration.ofSeconds(1);
+
+    private final StringRedisTemplate redisTemplate;
+    private final TaskStreamHub taskStreamHub;
+    private final String streamKey;
+    private final StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+
+    public TaskEventStreamListener(RedisConnectionFactory connectionFactory, StringRedisTemplate redisTemplate,
+                                   TaskStreamHub taskStreamHub, TaskOutboxProperties outboxProperties) {
+        this.redisTemplate = redisTemplate;
+        this.taskStreamHub = taskStreamHub;
+        this.streamKey = outboxProperties.getStreamKey();
+        this.container = StreamMessageListenerContainer.create(connectionFactory,
+                StreamMessageListenerContainerOptions.builder()
+                        .pollTimeout(Duration.ofSeconds(2))
+                        .build());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        RecordId startId = latestId();
+        taskStreamHub.startFrom(startId);
+
+        container.register(StreamReadRequest.builder(StreamOffset.create(streamKey, ReadOffset.from(startId)))
+                .cancelOnError(error -> false) // Keep reading from the last id once Redis is back
+                .errorHandler(this::onError)
+                .build(), this::onMessage);
+        container.start();
+        log.info("Streaming task events from {} after id {}", streamKey, startId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        container.stop();
+    }
+
+    void onMessage(MapRecord<String, String, String> record) {
+        Map<String, String> fields = record.getValue();
+        try {
+            String taskId = fields.get(TaskEventRelay.TASK_ID);
+            String payload = fields.get(TaskEventRelay.PAYLOAD);
+            taskStreamHub.publish(record.getId(), Long.valueOf(fields.get(TaskEventRelay.USER_ID)),
+                    fields.get(TaskEventRelay.TYPE).toLowerCase(Locale.ROOT),
+                    payload != null ? payload : "{\"id\":" + Long.valueOf(taskId) + "}");
+        } catch (RuntimeException e) {
+            log.warn("Skipping malformed task event {}: {}", record.getId(), fields, e);
+        }
+    }
+
+    private RecordId latestId() {
+        try {
+            List<MapRecord<String, Object, Object>> latest = redisTemplate.opsForStream()
+                    .reverseRange(streamKey, Range.unbounded(), Limit.limit().count(1));
+            return latest == null || latest.isEmpty() ? RecordId.of("0-0") : latest.get(0).getId();
+        } catch (DataAccessException e) {
+            // Reading will start once Redis is reachable; resumes from before now cannot be served
+            log.warn("Could not read the latest task event id, starting from the current time", e);
+            return RecordId.of(System.currentTimeMillis(), 0);
+        }
+    }
+
+    private void onError(Throwable error) {
+        log.warn("Could not read task events from {}, retrying: {}", streamKey, error.getMessage());
+        try {
+            // Runs on the polling thread, so this paces the retries while Redis is unavailable
+            Thread.sleep(ERROR_BACKOFF.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.taskservice.domain.Task;
+import com.deeptechhub.taskservice.dto.TaskResponse;
+import com.deeptechhub.taskservice.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes all tasks as newline-delimited JSON while they are read from the database,
+ * so memory use does not depend on the number of tasks.
+ * Tasks are written in chunks, so the creators of a chunk are resolved with one call to identity-service.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+    private static final Logger log = LoggerFactory.getLogger(TaskExportService.class);
+    private static final int FLUSH_INTERVAL_ROWS = 500;
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final UsernameCache usernameCache;
+
+    // The transaction keeps the cursor open; Postgres only honours the fetch size outside auto-commit
+    @Transactional(readOnly = true)
+    public long exportAllTasks(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskResponse.class);
+        long count = 0;
+
+        try (Stream<Task> tasks = taskRepository.streamAllByOrderByIdAsc()) {
+            Iterator<Task> iterator = tasks.iterator();
+            List<Task> chunk = new ArrayList<>(FLUSH_INTERVAL_ROWS);
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                entityManager.detach(task); // Don't let the persistence context grow with the table
+                chunk.add(task);
+
+                if (chunk.size() == FLUSH_INTERVAL_ROWS || !iterator.hasNext()) {
+                    count += writeChunk(chunk, writer, outputStream);
+                    chunk.clear();
+                }
+            }
+        }
+
+        outputStream.flush();
+        log.info("Exported {} tasks", count);
+        return count;
+    }
+
+    private int writeChunk(List<Task> chunk, ObjectWriter writer, OutputStream outputStream) throws IOException {
+        Map<Long, String> usernames = usernameCache.getUsernames(chunk.stream().map(Task::getCreatedByUserId).toList());
+        for (Task task : chunk) {
+            outputStream.write(writer.writeValueAsBytes(TaskResponse.fromTask(task, usernames.get(task.getCreatedByUserId()))));
+            outputStream.write('\n');
+        }
+
+        outputStream.flush();
+        return chunk.size();
+    }
+}
@@ -0,0 +1,141 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.taskservice.config.TaskListCacheProperties;
+import com.deeptechhub.taskservice.dto.CursorPage;
+import com.deeptechhub.taskservice.dto.TaskResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * Task list pages cached in Redis and shared by all replicas, with a local near-cache in front.
+ * Every key carries a per-user version that each write bumps, so a cached page is never updated in place:
+ * after a write, readers look up keys under the new version and the old pages just expire.
+ * Because a key always maps to the same page, the near-cache needs no cross-replica invalidation.
+ * Only the small version lookup goes to Redis on every read.
+ */
+@Component
+public class TaskListCache {
+    private static final Logger log = LoggerFactory.getLogger(TaskListCache.class);
+    private static final String KEY_PREFIX = "tasks:list:";
+    private static final TypeReference<CursorPage<TaskResponse>> PAGE_TYPE = new TypeReference<>() {};
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final TaskListCacheProperties properties;
+    private final Cache<String, CursorPage<TaskResponse>> nearCache;
+
+    public TaskListCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                         TaskListCacheProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(properties.getNearCacheSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    /**
+     * Returns the cached page of the user for the given page key, loading and caching it on a miss.
+     * The page key must capture everything the page depends on besides the user's tasks.
+     */
+    public CursorPage<TaskResponse> get(Long userId, String pageKey, Supplier<CursorPage<TaskResponse>> loader) {
+        if(!properties.isEnabled()) {
+            return loader.get();
+        }
+
+        String key;
+        try {
+            key = pageKey(userId, pageKey);
+        } catch (DataAccessException e) {
+            log.warn("Task list cache is unavailable, reading the tasks of user {} from the database", userId, e);
+            return loader.get();
+        }
+
+        CursorPage<TaskResponse> page = nearCache.getIfPresent(key);
+        if(page != null) {
+            return page;
+        }
+
+        page = read(key);
+        if(page == null) {
+            page = loader.get();
+            write(key, page);
+        }
+        nearCache.put(key, page);
+        return page;
+    }
+
+    /**
+     * Makes every cached page of the user unreachable. Inside a transaction this happens after commit,
+     * so a concurrent read cannot cache the old rows under the new version.
+     */
+    public void invalidate(Long userId) {
+        if(!properties.isEnabled()) {
+            return;
+        }
+
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpVersion(userId);
+                }
+            });
+        } else {
+            bumpVersion(userId);
+        }
+    }
+
+    private void bumpVersion(Long userId) {
+        try {
+            redisTemplate.opsForValue().increment(versionKey(userId));
+        } catch (DataAccessException e) {
+            log.warn("Could not bump the task list version of user {}, cached pages may be stale for up to {}",
+                    userId, properties.getTtl(), e);
+        }
+    }
+
+    private String pageKey(Long userId, String pageKey) {
+        // Version keys have no TTL so they are not evicted before the pages they guard
+        String version = redisTemplate.opsForValue().get(versionKey(userId));
+        return KEY_PREFIX + userId + ":" + (version == null ? "0" : version) + ":"
+                + DigestUtils.md5DigestAsHex(pageKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String versionKey(Long userId) {
+        return KEY_PREFIX + userId + ":version";
+    }
+
+    private CursorPage<TaskResponse> read(String key) {
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            return json == null ? null : objectMapper.readValue(json, PAGE_TYPE);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Could not read cached task list {}", key, e);
+            return null;
+        }
+    }
+
+    private void write(String key, CursorPage<TaskResponse> page) {
+        try {
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(page), properties.getTtl());
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Could not cache task list {}", key, e);
+        }
+    }
+}
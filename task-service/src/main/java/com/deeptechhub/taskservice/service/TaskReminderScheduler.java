@@ -0,0 +1,237 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.taskservice.config.TaskReminderProperties;
+import com.deeptechhub.taskservice.domain.Task;
+import com.deeptechhub.taskservice.repository.TaskReminderOperations.PendingReminder;
+import com.deeptechhub.taskservice.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sends a REMINDER event through the task_events outbox for every open task, tasks.reminders.lead-time before
+ * it is due. Pending reminders are timers in a hierarchical TimingWheel. Every load-interval they are loaded in
+ * due date order, up to the lookahead and at most max-pending of them, so memory stays bounded however many
+ * tasks are pending. TaskService reschedules or cancels the tasks it writes once their transaction commits.
+ * Every replica runs a wheel. A reminder is sent by claiming it in task_reminders for the task's current due date,
+ * so each one goes out once. Timers that went stale because another replica changed the task are no-ops, or are
+ * rescheduled when the task was moved to a later due date.
+ * Metrics: task.reminders.sent, task.reminders.failures and task.reminders.pending (timers in the wheel).
+ */
+@Component
+public class TaskReminderScheduler {
+    private static final Logger log = LoggerFactory.getLogger(TaskReminderScheduler.class);
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4; // With 1s ticks the top level turns once in about 194 days
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final TaskRepository taskRepository;
+    private final TaskEventOutbox taskEventOutbox;
+    private final TaskReminderProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Counter sent;
+    private final Counter failures;
+
+    // Guarded by this; only in-memory work happens while holding it
+    private final TimingWheel<Long> wheel;
+    private LocalDateTime loadedDueDate; // Pending reminders due up to this were in the wheel after the last load
+
+    @Autowired
+    public TaskReminderScheduler(TaskRepository taskRepository, TaskEventOutbox taskEventOutbox,
+                                 TaskReminderProperties properties, PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this(taskRepository, taskEventOutbox, properties, transactionManager, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    TaskReminderScheduler(TaskRepository taskRepository, TaskEventOutbox taskEventOutbox,
+                          TaskReminderProperties properties, PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.taskEventOutbox = taskEventOutbox;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(properties.getTick().toMillis(), WHEEL_SIZE, WHEEL_LEVELS, clock.millis());
+        this.sent = meterRegistry.counter("task.reminders.sent");
+        this.failures = meterRegistry.counter("task.reminders.failures");
+        Gauge.builder("task.reminders.pending", this, TaskReminderScheduler::pendingCount).register(meterRegistry);
+    }
+
+    /**
+     * Loads the pending reminders of the whole window into the wheel, from the oldest one still worth sending.
+     * Every load starts over rather than resuming where the last one stopped: tasks created or moved on other
+     * replicas may be due before that point, and each replica has to hold them in case the replica that wrote
+     * them goes away. Timers already in the wheel are replaced, so reloading them is harmless.
+     */
+    @Scheduled(fixedDelayString = "${tasks.reminders.load-interval:1m}")
+    public void load() {
+        if(!properties.isEnabled()) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now(clock);
+            LocalDateTime until = now.plus(properties.getLeadTime()).plus(properties.getLookahead());
+            LocalDateTime afterDueDate = now.minus(properties.getMaxLateness());
+            long afterId = 0;
+            int loaded = 0;
+            boolean more = true;
+            while(more) {
+                int pageSize = Math.min(properties.getMaxPending() - loaded, properties.getBatchSize());
+                if(pageSize <= 0) {
+                    log.debug("Holding {} reminders, loading more once some have been sent", properties.getMaxPending());
+                    break;
+                }
+
+                List<PendingReminder> page = taskRepository.findPendingReminders(afterDueDate, afterId, until, pageSize);
+                synchronized (this) {
+                    page.forEach(reminder -> wheel.schedule(reminder.taskId(), fireAt(reminder.dueDate())));
+                }
+                loaded += page.size();
+                more = page.size() == pageSize;
+                if(!more) {
+                    afterDueDate = until;
+                } else {
+                    PendingReminder last = page.get(page.size() - 1);
+                    afterDueDate = last.dueDate();
+                    afterId = last.taskId();
+                }
+            }
+
+            synchronized (this) {
+                loadedDueDate = afterDueDate;
+            }
+            if(loaded > 0) {
+                log.debug("Loaded {} task reminders due up to {}", loaded, afterDueDate);
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Could not load task reminders, retrying in {}", properties.getLoadInterval(), e);
+        }
+    }
+
+    /**
+     * Advances the wheel to the current time and sends the reminders that came due.
+     */
+    @Scheduled(fixedDelayString = "${tasks.reminders.tick:1s}")
+    public void tick() {
+        if(!properties.isEnabled()) {
+            return;
+        }
+        List<Long> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(clock.millis(), due::add);
+        }
+        for (int from = 0; from < due.size(); from += properties.getBatchSize()) {
+            send(due.subList(from, Math.min(from + properties.getBatchSize(), due.size())));
+        }
+    }
+
+    /**
+     * Schedules, moves or cancels the reminder of a task created or updated by TaskService, once the current
+     * transaction commits.
+     */
+    public void taskSaved(Task task) {
+        Long taskId = task.getId();
+        LocalDateTime dueDate = task.isCompleted() ? null : task.getDueDate();
+        afterCommit(() -> reschedule(taskId, dueDate));
+    }
+
+    /**
+     * Cancels the reminders of tasks completed or deleted by TaskService, once the current transaction commits.
+     */
+    public void tasksRemoved(List<Long> taskIds) {
+        afterCommit(() -> {
+            synchronized (this) {
+                taskIds.forEach(wheel::cancel);
+            }
+        });
+    }
+
+    public synchronized int pendingCount() {
+        return wheel.size();
+    }
+
+    private void send(List<Long> taskIds) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Long[] ids = taskIds.toArray(Long[]::new);
+        try {
+            List<Long> claimed = transactionTemplate.execute(status -> {
+                List<Long> claimedIds = taskRepository.claimReminders(ids, now.minus(properties.getMaxLateness()),
+                        now.plus(properties.getLeadTime()), now);
+                if(!claimedIds.isEmpty()) {
+                    taskEventOutbox.recordReminders(taskRepository.findAllById(claimedIds));
+                }
+                return claimedIds;
+            });
+            sent.increment(claimed.size());
+            log.debug("Sent {} task reminders, {} timers were stale", claimed.size(), ids.length - claimed.size());
+
+            if(claimed.size() < ids.length) {
+                Set<Long> claimedIds = new HashSet<>(claimed);
+                rescheduleMoved(taskIds.stream().filter(id -> !claimedIds.contains(id)).toArray(Long[]::new));
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Could not send {} task reminders, retrying in {}", ids.length, RETRY_DELAY, e);
+            long retryAt = clock.millis() + RETRY_DELAY.toMillis();
+            synchronized (this) {
+                taskIds.forEach(taskId -> wheel.schedule(taskId, retryAt));
+            }
+        }
+    }
+
+    // A timer that claimed nothing may belong to a task whose due date moved later on another replica
+    private void rescheduleMoved(Long[] taskIds) {
+        LocalDateTime claimableUntil = LocalDateTime.now(clock).plus(properties.getLeadTime());
+        for (PendingReminder reminder : taskRepository.findPendingReminders(taskIds)) {
+            if(reminder.dueDate().isAfter(claimableUntil)) {
+                reschedule(reminder.taskId(), reminder.dueDate());
+            }
+        }
+    }
+
+    private synchronized void reschedule(Long taskId, LocalDateTime dueDate) {
+        // Tasks beyond what has been loaded are left to the loader, which gets to them in due date order
+        if(dueDate == null || loadedDueDate == null || dueDate.isAfter(loadedDueDate)
+                || dueDate.isBefore(LocalDateTime.now(clock).minus(properties.getMaxLateness()))) {
+            wheel.cancel(taskId);
+        } else {
+            wheel.schedule(taskId, fireAt(dueDate));
+        }
+    }
+
+    private long fireAt(LocalDateTime dueDate) {
+        return dueDate.minus(properties.getLeadTime()).atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,28 +1,69 @@
 package com.deeptechhub.taskservice.service;
 
+import com.deeptechhub.common.dto.UserDto;
 import com.deeptechhub.common.exception.ResourceNotFoundException;
+import com.deeptechhub.taskservice.config.CacheConfig;
+import com.deeptechhub.taskservice.config.TaskChangesProperties;
 import com.deeptechhub.taskservice.domain.Task;
+import com.deeptechhub.taskservice.dto.CursorPage;
+import com.deeptechhub.taskservice.dto.TaskBatchResponse;
+import com.deeptechhub.taskservice.dto.TaskBulkAction;
+import com.deeptechhub.taskservice.dto.TaskBulkFilter;
+import com.deeptechhub.taskservice.dto.TaskBulkRequest;
+import com.deeptechhub.taskservice.dto.TaskBulkResponse;
+import com.deeptechhub.taskservice.dto.TaskChangeToken;
+import com.deeptechhub.taskservice.dto.TaskChangesResponse;
+import com.deeptechhub.taskservice.dto.TaskCursor;
+import com.deeptechhub.taskservice.dto.TaskMergePatch;
+import com.deeptechhub.taskservice.dto.TaskMultiGetResponse;
+import com.deeptechhub.taskservice.dto.TaskQuery;
 import com.deeptechhub.taskservice.dto.TaskRequest;
 import com.deeptechhub.taskservice.dto.TaskResponse;
+import com.deeptechhub.taskservice.dto.TaskSearchCursor;
+import com.deeptechhub.taskservice.dto.TaskSort;
+import com.deeptechhub.taskservice.repository.TaskChangeOperations;
 import com.deeptechhub.taskservice.repository.TaskRepository;
+import com.deeptechhub.taskservice.repository.TaskSearchOperations;
+import com.deeptechhub.taskservice.repository.TaskSpecifications;
 import com.deeptechhub.taskservice.security.SecurityHelper;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
     private static final Logger log = LoggerFactory.getLogger(TaskService.class);
+    private static final int MAX_PAGE_SIZE = 500;
     private final TaskRepository taskRepository;
     private final SecurityHelper securityHelper;
+    private final TaskSuggestionService taskSuggestionService;
+    private final TaskListCache taskListCache;
+    private final UsernameCache usernameCache;
+    private final TaskEventOutbox taskEventOutbox;
+    private final TaskChangesProperties taskChangesProperties;
+    private final TaskReminderScheduler taskReminderScheduler;
 
+    @Transactional
     public TaskResponse createTask(TaskRequest taskRequest) {
-        Long createdByUserId = securityHelper.getCurrentUser().getId();
+        UserDto currentUser = securityHelper.getCurrentUser();
+        Long createdByUserId = currentUser.getId();
 
         // Get task from request object
         Task task = new Task();
@@ -33,58 +74,365 @@ public class TaskService {
 
         // save task
         log.info("Attempting to save task {}", task);
-        Task createdTask = taskRepository.save(task);
+        // Flushed so the event carries the timestamps Hibernate generates on insert
+        Task createdTask = taskRepository.saveAndFlush(task);
         log.info("Successfully saved task {}", task);
+        taskEventOutbox.recordCreated(List.of(createdTask));
+        taskReminderScheduler.taskSaved(createdTask);
+        taskSuggestionService.evict(createdByUserId);
+        taskListCache.invalidate(createdByUserId);
 
-        return TaskResponse.fromTask(createdTask);
+        return TaskResponse.fromTask(createdTask, currentUser.getUsername());
     }
 
-    public List<TaskResponse> getUserTasks(String username) {
+    @Transactional
+    public TaskBatchResponse createTasks(List<TaskRequest> taskRequests) {
         Long createdByUserId = securityHelper.getCurrentUser().getId();
+        long startNanos = System.nanoTime();
 
-        return taskRepository.findByCreatedByUserId(createdByUserId).stream()
-                .map(TaskResponse::fromTask)
+        List<Task> tasks = taskRequests.stream()
+                .map(taskRequest -> {
+                    Task task = new Task();
+                    task.setTitle(taskRequest.title());
+                    task.setDescription(taskRequest.description());
+                    task.setDueDate(taskRequest.dueDate());
+                    task.setCreatedByUserId(createdByUserId);
+                    return task;
+                })
                 .toList();
+
+        // Flush here so the timing covers the inserts, which go out as JDBC batches of hibernate.jdbc.batch_size
+        List<Task> savedTasks = taskRepository.saveAllAndFlush(tasks);
+        taskEventOutbox.recordCreated(savedTasks);
+        savedTasks.forEach(taskReminderScheduler::taskSaved);
+        taskSuggestionService.evict(createdByUserId);
+        taskListCache.invalidate(createdByUserId);
+
+        long elapsedNanos = Math.max(System.nanoTime() - startNanos, 1);
+        double rowsPerSecond = savedTasks.size() * 1_000_000_000d / elapsedNanos;
+        log.info("Created {} tasks in {} ms ({} rows/sec)", savedTasks.size(),
+                elapsedNanos / 1_000_000, Math.round(rowsPerSecond));
+
+        return new TaskBatchResponse(savedTasks.size(), savedTasks.stream().map(Task::getId).toList(),
+                elapsedNanos / 1_000_000, rowsPerSecond);
     }
 
-    public List<TaskResponse> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(TaskResponse::fromTask)
-                .toList();
+    /**
+     * Version of all of the current user's task lists, changing with every write to one of their tasks.
+     * Cheap enough to compare with If-None-Match before loading a page.
+     */
+    public String getUserTasksVersion() {
+        return taskRepository.findListVersion(securityHelper.getCurrentUser().getId());
+    }
+
+    /**
+     * @param listVersion from getUserTasksVersion() before the call; the page is cached under it, so the page
+     *                    returned is never older than the version it is sent with
+     */
+    public CursorPage<TaskResponse> getUserTasks(String username, TaskQuery query, int limit, String after,
+                                                 String listVersion) {
+        Long createdByUserId = securityHelper.getCurrentUser().getId();
+        int pageSize = pageSize(limit);
+        return taskListCache.get(createdByUserId, query + "|" + pageSize + "|" + after + "|" + listVersion,
+                () -> findUserTasks(createdByUserId, query, pageSize, after));
+    }
+
+    public CursorPage<TaskResponse> searchTasks(String q, int limit, String after) {
+        if(StringUtils.isBlank(q)) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+
+        Long createdByUserId = securityHelper.getCurrentUser().getId();
+        int pageSize = pageSize(limit);
+        TaskSearchCursor cursor = after == null ? null : TaskSearchCursor.decode(after);
+
+        // Fetch one extra hit to find out whether another page exists
+        List<TaskSearchOperations.Hit> hits = taskRepository.search(createdByUserId, q,
+                cursor == null ? null : cursor.rank(), cursor == null ? null : cursor.id(), pageSize + 1);
+
+        boolean hasMore = hits.size() > pageSize;
+        List<TaskSearchOperations.Hit> pageHits = hasMore ? hits.subList(0, pageSize) : hits;
+
+        TaskSearchOperations.Hit last = hasMore ? pageHits.get(pageSize - 1) : null;
+        String nextCursor = last == null ? null : new TaskSearchCursor(last.rank(), last.task().getId()).encode();
+        return new CursorPage<>(toResponses(pageHits.stream().map(TaskSearchOperations.Hit::task).toList()), nextCursor);
+    }
+
+    public CursorPage<TaskResponse> getAllTasks(int limit, String after) {
+        int pageSize = pageSize(limit);
+
+        List<Task> tasks = after == null
+                ? taskRepository.findAllByOrderByCreatedAtDescIdDesc(Limit.of(pageSize + 1))
+                : findAllTasksAfter(TaskCursor.decode(after), pageSize + 1);
+
+        return toPage(tasks, pageSize, TaskCursor::fromTask);
     }
 
+    /**
+     * Returns the current user's tasks written and deleted since the token of an earlier call, oldest change
+     * first, or all of the user's tasks when since is null. Tokens older than the tombstone retention are
+     * refused with 410 Gone, since deletes before them may have been purged.
+     */
+    public TaskChangesResponse getTaskChanges(String since, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        TaskChangeToken token = since == null ? TaskChangeToken.initial(now) : TaskChangeToken.decode(since);
+        if(token.issuedAt().isBefore(now.minus(taskChangesProperties.getTombstoneRetention()))) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Change token expired, sync again without since");
+        }
+
+        Long userId = securityHelper.getCurrentUser().getId();
+        int pageSize = pageSize(limit);
+
+        // Fetch one extra change to find out whether another page exists
+        List<TaskChangeOperations.Change> changes = taskRepository.findChanges(userId, token.changeSeq(), token.id(),
+                since != null, pageSize + 1);
+        boolean hasMore = changes.size() > pageSize;
+        List<TaskChangeOperations.Change> pageChanges = hasMore ? changes.subList(0, pageSize) : changes;
+
+        List<Long> upsertIds = pageChanges.stream().filter(change -> !change.deleted())
+                .map(TaskChangeOperations.Change::taskId).toList();
+        // A task deleted since the feed was read shows up as a tombstone on the next sync
+        Map<Long, Task> tasksById = taskRepository.findAllById(upsertIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<TaskResponse> upserts = toResponses(upsertIds.stream().map(tasksById::get).filter(Objects::nonNull).toList());
+        List<Long> deletedIds = pageChanges.stream().filter(TaskChangeOperations.Change::deleted)
+                .map(TaskChangeOperations.Change::taskId).toList();
+
+        TaskChangeOperations.Change last = pageChanges.isEmpty() ? null : pageChanges.get(pageChanges.size() - 1);
+        // Only a client that read the last page is caught up. Mid-backlog the token keeps its age, or a client
+        // paging slower than tombstones are purged would skip the deletes purged meanwhile instead of getting 410
+        LocalDateTime issuedAt = hasMore ? token.issuedAt() : now;
+        TaskChangeToken nextToken = last == null
+                ? new TaskChangeToken(token.changeSeq(), token.id(), issuedAt)
+                : new TaskChangeToken(last.changeSeq(), last.taskId(), issuedAt);
+        return new TaskChangesResponse(upserts, deletedIds, nextToken.encode(), hasMore);
+    }
+
+    public Long getTaskVersion(Long id) {
+        return taskRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TASKS, key = "#id")
     public TaskResponse getTask(Long id) {
         return taskRepository.findById(id)
-                .map(TaskResponse::fromTask)
+                .map(this::toResponse)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
     }
 
+    /**
+     * Returns the current user's tasks with the given ids in request order, all read with one query.
+     * Ids that do not exist or belong to another user get a not-found result.
+     */
+    public TaskMultiGetResponse getTasks(List<Long> ids) {
+        UserDto currentUser = securityHelper.getCurrentUser();
+        Map<Long, TaskResponse> tasksById = taskRepository
+                .findOwnedByIds(ids.stream().distinct().toArray(Long[]::new), currentUser.getId()).stream()
+                .collect(Collectors.toMap(Task::getId, task -> TaskResponse.fromTask(task, currentUser.getUsername())));
+
+        return new TaskMultiGetResponse(ids.stream()
+                .map(id -> tasksById.containsKey(id)
+                        ? TaskMultiGetResponse.Result.found(tasksById.get(id))
+                        : TaskMultiGetResponse.Result.notFound(id))
+                .toList());
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#id")
     public void deleteTask(Long id) {
-        if(!taskRepository.existsById(id)) {
+        Long ownerId = taskRepository.deleteReturningOwnerId(id).orElseThrow(() -> {
             log.warn("No tasks have been found with id {}", id);
-            throw new ResourceNotFoundException("Task not found with id: " + id);
-        }
-        taskRepository.deleteById(id);
+            return new ResourceNotFoundException("Task not found with id: " + id);
+        });
+        taskEventOutbox.recordDeleted(id, ownerId);
+        taskReminderScheduler.tasksRemoved(List.of(id));
+        taskListCache.invalidate(ownerId);
+        taskSuggestionService.evict(ownerId);
     }
 
-    public TaskResponse updateTask(Long id, TaskRequest taskRequest) {
-        Task existingTask = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, allEntries = true) // The affected ids are not known up front
+    public TaskBulkResponse bulkUpdateTasks(TaskBulkRequest request) {
+        boolean hasIds = request.ids() != null && !request.ids().isEmpty();
+        if(hasIds == (request.filter() != null)) {
+            throw new IllegalArgumentException("Exactly one of ids or filter must be provided");
+        }
+
+        if(request.action() == TaskBulkAction.SHIFT_DUE_DATE && request.dueDateShift() == null) {
+            throw new IllegalArgumentException("dueDateShift is mandatory for " + TaskBulkAction.SHIFT_DUE_DATE);
+        }
+
+        Long userId = securityHelper.getCurrentUser().getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Task> tasks = hasIds
+                ? bulkUpdateByIds(request, userId, now)
+                : bulkUpdateByFilter(request, userId, now);
+        if(request.action() == TaskBulkAction.DELETE) {
+            taskEventOutbox.recordDeleted(tasks);
+        } else {
+            taskEventOutbox.recordUpdated(tasks);
+        }
 
-        // Update the existingTask
-        if(StringUtils.isNotBlank(taskRequest.title())) {
-            existingTask.setTitle(taskRequest.title());
+        int affected = tasks.size();
+        log.info("Bulk {} affected {} tasks of user {}", request.action(), affected, userId);
+        if(affected > 0) {
+            taskListCache.invalidate(userId);
+        }
+        if(affected > 0 && request.action() == TaskBulkAction.DELETE) {
+            taskSuggestionService.evict(userId);
+        }
+        if(request.action() == TaskBulkAction.SHIFT_DUE_DATE) {
+            tasks.forEach(taskReminderScheduler::taskSaved);
+        } else if(affected > 0) {
+            taskReminderScheduler.tasksRemoved(tasks.stream().map(Task::getId).toList());
         }
+        return new TaskBulkResponse(request.action(), affected);
+    }
+
+    /**
+     * @param expectedVersion version the client last read (If-Match), or null to update whatever is current.
+     *                        A task at another version is left unchanged and 412 Precondition Failed is returned.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#id")
+    public TaskResponse updateTask(Long id, TaskRequest taskRequest, Long expectedVersion) {
+        // Only non-blank fields are written; the row is updated and read back in one statement
+        String title = StringUtils.isNotBlank(taskRequest.title()) ? taskRequest.title() : null;
+        String description = StringUtils.isNotBlank(taskRequest.description()) ? taskRequest.description() : null;
 
-        if(StringUtils.isNotBlank(taskRequest.description())) {
-            existingTask.setDescription(taskRequest.description());
+        if(title == null && description == null && taskRequest.dueDate() == null) {
+            if(expectedVersion != null && !expectedVersion.equals(getTaskVersion(id))) {
+                throw versionConflict(id, expectedVersion);
+            }
+            return getTask(id);
         }
 
+        Task updated = taskRepository.updateReturning(id, title, description, taskRequest.dueDate(), expectedVersion,
+                        LocalDateTime.now())
+                .orElseThrow(() -> expectedVersion != null && taskRepository.existsById(id)
+                        ? versionConflict(id, expectedVersion)
+                        : new ResourceNotFoundException("Task not found with id: " + id));
+        taskEventOutbox.recordUpdated(updated);
         if(taskRequest.dueDate() != null) {
-            existingTask.setDueDate(taskRequest.dueDate());
+            taskReminderScheduler.taskSaved(updated);
+        }
+        if(title != null) {
+            taskSuggestionService.evict(updated.getCreatedByUserId());
+        }
+        taskListCache.invalidate(updated.getCreatedByUserId());
+        return toResponse(updated);
+    }
+
+    /**
+     * Applies a JSON Merge Patch, writing only the fields it contains. A version is mandatory, from If-Match or
+     * the patch itself, so a client can never overwrite a change it has not seen: 428 Precondition Required
+     * without one, 412 Precondition Failed when the task has moved on.
+     *
+     * @param ifMatchVersion version from the If-Match header, or null if not sent
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#id")
+    public TaskResponse patchTask(Long id, TaskMergePatch patch, Long ifMatchVersion) {
+        if(ifMatchVersion != null && patch.version() != null && !ifMatchVersion.equals(patch.version())) {
+            throw versionConflict(id, patch.version());
+        }
+        Long expectedVersion = ifMatchVersion != null ? ifMatchVersion : patch.version();
+        if(expectedVersion == null) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_REQUIRED,
+                    "Send the task version in If-Match or as \"version\" in the patch");
         }
 
-        return TaskResponse.fromTask(taskRepository.save(existingTask));
+        if(patch.columns().isEmpty()) {
+            if(!expectedVersion.equals(getTaskVersion(id))) {
+                throw versionConflict(id, expectedVersion);
+            }
+            return getTask(id);
+        }
+
+        Task patched = taskRepository.patchReturning(id, patch.columns(), expectedVersion, LocalDateTime.now())
+                .orElseThrow(() -> taskRepository.existsById(id)
+                        ? versionConflict(id, expectedVersion)
+                        : new ResourceNotFoundException("Task not found with id: " + id));
+        taskEventOutbox.recordUpdated(patched);
+        if(patch.columns().containsKey("due_date") || patch.columns().containsKey("completed")) {
+            taskReminderScheduler.taskSaved(patched);
+        }
+        if(patch.columns().containsKey("title")) {
+            taskSuggestionService.evict(patched.getCreatedByUserId());
+        }
+        taskListCache.invalidate(patched.getCreatedByUserId());
+        return toResponse(patched);
+    }
+
+    private CursorPage<TaskResponse> findUserTasks(Long createdByUserId, TaskQuery query, int pageSize, String after) {
+        TaskSort sort = query.sort();
+
+        Specification<Task> specification = TaskSpecifications.matching(createdByUserId, query);
+        if(after != null) {
+            specification = specification.and(TaskSpecifications.after(sort, TaskCursor.decode(after)));
+        }
+
+        // Fetch one extra row to find out whether another page exists
+        List<Task> tasks = taskRepository.findBy(specification,
+                fluentQuery -> fluentQuery.sortBy(sort.toSort()).limit(pageSize + 1).all());
+
+        return toPage(tasks, pageSize, task -> TaskCursor.fromTask(task, sort));
+    }
+
+    private List<Task> findAllTasksAfter(TaskCursor cursor, int limit) {
+        return taskRepository.findAllTasksAfter(cursor.key(), cursor.id(), Limit.of(limit));
+    }
+
+    private List<Task> bulkUpdateByIds(TaskBulkRequest request, Long userId, LocalDateTime now) {
+        Long[] ids = request.ids().toArray(Long[]::new);
+
+        return switch (request.action()) {
+            case COMPLETE -> taskRepository.completeByIds(ids, userId, now);
+            case SHIFT_DUE_DATE -> taskRepository.shiftDueDateByIds(ids, userId, request.dueDateShift(), now);
+            case DELETE -> taskRepository.deleteByIds(ids, userId);
+        };
+    }
+
+    private List<Task> bulkUpdateByFilter(TaskBulkRequest request, Long userId, LocalDateTime now) {
+        TaskBulkFilter filter = request.filter();
+
+        return switch (request.action()) {
+            case COMPLETE -> taskRepository.completeMatching(userId, filter.completed(), filter.dueBefore(), now);
+            case SHIFT_DUE_DATE -> taskRepository.shiftDueDateMatching(userId, filter.completed(), filter.dueBefore(),
+                    request.dueDateShift(), now);
+            case DELETE -> taskRepository.deleteMatching(userId, filter.completed(), filter.dueBefore());
+        };
+    }
+
+    private ResponseStatusException versionConflict(Long id, Long expectedVersion) {
+        log.debug("Task {} is no longer at version {}", id, expectedVersion);
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                "Task " + id + " has been modified since version " + expectedVersion);
+    }
+
+    private int pageSize(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
+
+    private CursorPage<TaskResponse> toPage(List<Task> tasks, int pageSize, Function<Task, TaskCursor> cursorOf) {
+        boolean hasMore = tasks.size() > pageSize;
+        List<Task> pageTasks = hasMore ? tasks.subList(0, pageSize) : tasks;
+
+        String nextCursor = hasMore ? cursorOf.apply(pageTasks.get(pageSize - 1)).encode() : null;
+        return new CursorPage<>(toResponses(pageTasks), nextCursor);
+    }
+
+    private TaskResponse toResponse(Task task) {
+        return TaskResponse.fromTask(task, usernameCache.getUsername(task.getCreatedByUserId()));
+    }
+
+    // The creators of a whole page are resolved together, with at most one call to identity-service
+    private List<TaskResponse> toResponses(List<Task> tasks) {
+        Map<Long, String> usernames = usernameCache.getUsernames(tasks.stream().map(Task::getCreatedByUserId).toList());
+        return tasks.stream()
+                .map(task -> TaskResponse.fromTask(task, usernames.get(task.getCreatedByUserId())))
+                .toList();
     }
 
 }
@@ -0,0 +1,266 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.taskservice.config.TaskStreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Fans task change events out to the open GET /api/tasks/stream connections of their owner on this replica.
+ * Every subscriber has a bounded queue drained by its own virtual thread, so a slow client never holds up the
+ * others: when its queue is full it is disconnected and resumes on reconnect.
+ * The most recent events of all users are kept in a bounded buffer. A client reconnecting with Last-Event-ID
+ * gets the events it missed from there, or a resync event telling it to reload its tasks when they are gone.
+ * Event ids are the ids of the Redis stream, which are the same on every replica.
+ */
+@Component
+public class TaskStreamHub {
+    private static final Logger log = LoggerFactory.getLogger(TaskStreamHub.class);
+    static final String RESYNC = "resync";
+    private static final Comparator<RecordId> ID_ORDER = Comparator.comparing(RecordId::getTimestamp)
+            .thenComparing(RecordId::getSequence);
+    private static final StreamEvent CLOSED = new StreamEvent(null, null, null, null);
+
+    private final TaskStreamProperties properties;
+    private final Supplier<SseEmitter> emitterFactory;
+    private final Executor senderExecutor;
+    private final Counter evictions;
+    private final Counter resyncs;
+
+    // Guarded by this; only short in-memory work happens while holding it
+    private final Deque<StreamEvent> recentEvents = new ArrayDeque<>();
+    private final Map<Long, List<Subscriber>> subscribersByUser = new HashMap<>();
+    private int subscriberCount;
+    private RecordId resumeFloor; // Clients that saw this id or a later one can resume without loss
+    private RecordId latestId;
+
+    @Autowired
+    public TaskStreamHub(TaskStreamProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, () -> new SseEmitter(properties.getTimeout().toMillis()),
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    TaskStreamHub(TaskStreamProperties properties, MeterRegistry meterRegistry,
+                  Supplier<SseEmitter> emitterFactory, Executor senderExecutor) {
+        this.properties = properties;
+        this.emitterFactory = emitterFactory;
+        this.senderExecutor = senderExecutor;
+        this.evictions = meterRegistry.counter("task.stream.evictions");
+        this.resyncs = meterRegistry.counter("task.stream.resyncs");
+        Gauge.builder("task.stream.subscribers", this, TaskStreamHub::subscriberCount).register(meterRegistry);
+    }
+
+    /**
+     * Called once reading starts at the given stream id; earlier events were never seen by this replica.
+     */
+    public synchronized void startFrom(RecordId id) {
+        resumeFloor = id;
+        latestId = id;
+    }
+
+    /**
+     * Opens a stream of the user's task changes, first replaying what happened after lastEventId if given.
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        if(!properties.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task streams are disabled");
+        }
+        Subscriber subscriber = new Subscriber(userId, emitterFactory.get());
+        Subscriber displaced = null;
+
+        synchronized (this) {
+            if(subscriberCount >= properties.getMaxSubscribers()) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open task streams");
+            }
+
+            List<Subscriber> subscribers = subscribersByUser.computeIfAbsent(userId, key -> new ArrayList<>());
+            if(subscribers.size() >= properties.getMaxSubscribersPerUser()) {
+                displaced = subscribers.remove(0);
+                subscriberCount--;
+            }
+            if(lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+            subscriberCount++;
+        }
+
+        if(displaced != null) {
+            log.debug("Closing the oldest task stream of user {} to make room for a new one", userId);
+            displaced.close();
+        }
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+        senderExecutor.execute(subscriber::sendLoop);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Delivers an event read from the task event stream to the owner's subscribers.
+     */
+    public void publish(RecordId id, Long userId, String name, String data) {
+        StreamEvent event = new StreamEvent(id, userId, name, data);
+        List<Subscriber> slow = new ArrayList<>();
+
+        synchronized (this) {
+            recentEvents.addLast(event);
+            if(recentEvents.size() > properties.getResumeBufferSize()) {
+                resumeFloor = recentEvents.removeFirst().id();
+            }
+            latestId = id;
+
+            List<Subscriber> subscribers = subscribersByUser.getOrDefault(userId, List.of());
+            for (Subscriber subscriber : subscribers) {
+                if(!subscriber.queue.offer(event)) {
+                    slow.add(subscriber);
+                }
+            }
+            slow.forEach(this::removeLocked);
+        }
+
+        for (Subscriber subscriber : slow) {
+            evictions.increment();
+            log.info("Disconnecting a task stream of user {} that fell {} events behind", userId,
+                    properties.getSubscriberQueueSize());
+            subscriber.close();
+        }
+    }
+
+    public synchronized int subscriberCount() {
+        return subscriberCount;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<Subscriber> all;
+        synchronized (this) {
+            all = subscribersByUser.values().stream().flatMap(List::stream).toList();
+            subscribersByUser.clear();
+            subscriberCount = 0;
+        }
+        all.forEach(Subscriber::close);
+    }
+
+    // Called holding the lock, before the subscriber is registered
+    private void replay(Subscriber subscriber, String lastEventId) {
+        RecordId lastId = parse(lastEventId);
+        if(lastId != null && resumeFloor != null && ID_ORDER.compare(lastId, resumeFloor) >= 0) {
+            List<StreamEvent> missed = recentEvents.stream()
+                    .filter(event -> event.userId().equals(subscriber.userId) && ID_ORDER.compare(event.id(), lastId) > 0)
+                    .toList();
+            if(missed.size() < properties.getSubscriberQueueSize()) {
+                missed.forEach(subscriber.queue::offer);
+                return;
+            }
+        }
+
+        // The missed events are no longer known, so the client has to reload its tasks
+        resyncs.increment();
+        subscriber.queue.offer(new StreamEvent(latestId, subscriber.userId, RESYNC, "{}"));
+    }
+
+    private void remove(Subscriber subscriber) {
+        synchronized (this) {
+            removeLocked(subscriber);
+        }
+        subscriber.close();
+    }
+
+    private void removeLocked(Subscriber subscriber) {
+        List<Subscriber> subscribers = subscribersByUser.get(subscriber.userId);
+        if(subscribers != null && subscribers.remove(subscriber)) {
+            subscriberCount--;
+            if(subscribers.isEmpty()) {
+                subscribersByUser.remove(subscriber.userId);
+            }
+        }
+    }
+
+    private static RecordId parse(String id) {
+        try {
+            RecordId recordId = RecordId.of(id);
+            if(recordId.shouldBeAutoGenerated()) {
+                return null;
+            }
+            recordId.getTimestamp(); // The parts are only parsed on first access
+            recordId.getSequence();
+            return recordId;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    record StreamEvent(RecordId id, Long userId, String name, String data) {
+        SseEmitter.SseEventBuilder toSse() {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+            return id == null ? builder : builder.id(id.getValue());
+        }
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> queue;
+        private volatile boolean open = true;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(properties.getSubscriberQueueSize());
+        }
+
+        private void close() {
+            if(open) {
+                open = false;
+                queue.clear(); // Unregistered by now, so nothing refills the queue before CLOSED goes in
+                queue.offer(CLOSED);
+            }
+        }
+
+        private void sendLoop() {
+            try {
+                while(open) {
+                    StreamEvent event = queue.poll(properties.getHeartbeat().toMillis(), TimeUnit.MILLISECONDS);
+                    if(event == CLOSED) {
+                        break;
+                    }
+                    emitter.send(event == null ? SseEmitter.event().comment("keep-alive") : event.toSse());
+                }
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Task stream of user {} is gone: {}", userId, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.complete();
+            } finally {
+                remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.taskservice.config.TaskSuggestProperties;
+import com.deeptechhub.taskservice.repository.TaskRepository;
+import com.deeptechhub.taskservice.repository.TaskSpecifications;
+import com.deeptechhub.taskservice.security.SecurityHelper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Typeahead suggestions over the current user's task titles. Titles starting with the typed text come
+ * first, followed (from three characters on) by titles containing it further in.
+ * Each user gets a small LRU of recently typed prefixes. When a cached result holds every matching
+ * title, a longer prefix is answered by filtering it, so typing further usually skips the database.
+ */
+@Service
+public class TaskSuggestionService {
+    private static final Logger log = LoggerFactory.getLogger(TaskSuggestionService.class);
+    private static final int MAX_PREFIX_LENGTH = 255;
+    // Shorter prefixes have no complete trigram, so they only match at the start of the title
+    private static final int CONTAINS_MIN_LENGTH = 3;
+    // Rows of the containing query repeat titles, so read more rows than there are free slots
+    private static final int CONTAINS_OVERFETCH = 4;
+    private static final Comparator<String> BY_TITLE = Comparator
+            .comparing((String title) -> title.toLowerCase(Locale.ROOT))
+            .thenComparing(Comparator.naturalOrder());
+
+    private final TaskRepository taskRepository;
+    private final SecurityHelper securityHelper;
+    private final TaskSuggestProperties properties;
+    private final Cache<Long, RecentPrefixes> recentPrefixes;
+
+    public TaskSuggestionService(TaskRepository taskRepository, SecurityHelper securityHelper,
+                                 TaskSuggestProperties properties) {
+        this.taskRepository = taskRepository;
+        this.securityHelper = securityHelper;
+        this.properties = properties;
+        this.recentPrefixes = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxUsers())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    public List<String> suggestTitles(String prefix) {
+        String normalized = prefix == null ? "" : prefix.strip().toLowerCase(Locale.ROOT);
+        if(normalized.isEmpty()) {
+            return List.of();
+        }
+        if(normalized.length() > MAX_PREFIX_LENGTH || normalized.indexOf('\0') >= 0) {
+            throw new IllegalArgumentException("prefix must be text of at most " + MAX_PREFIX_LENGTH + " characters");
+        }
+
+        Long userId = securityHelper.getCurrentUser().getId();
+        RecentPrefixes prefixes = recentPrefixes.get(userId, id -> new RecentPrefixes(properties.getPrefixesPerUser()));
+
+        Suggestions suggestions = prefixes.lookup(normalized);
+        if(suggestions == null) {
+            suggestions = load(userId, normalized, properties.getMaxResults());
+            prefixes.put(normalized, suggestions);
+        }
+        return suggestions.titles();
+    }
+
+    /**
+     * Drops the cached prefixes of a user whose task titles have changed.
+     */
+    public void evict(Long userId) {
+        recentPrefixes.invalidate(userId);
+    }
+
+    private Suggestions load(Long userId, String prefix, int limit) {
+        String to = successor(prefix);
+        List<String> titles = new ArrayList<>(taskRepository.findTitlesStartingWith(userId, prefix, to, limit));
+        if(titles.size() == limit || prefix.length() < CONTAINS_MIN_LENGTH) {
+            return new Suggestions(titles, titles.size() < limit);
+        }
+
+        int remaining = limit - titles.size();
+        int fetch = remaining * CONTAINS_OVERFETCH;
+        String pattern = "%" + TaskSpecifications.escapeLike(prefix) + "%";
+        List<String> rows = taskRepository.findTitlesContaining(userId, pattern, prefix, to, fetch);
+        List<String> containing = rows.stream().distinct().sorted(BY_TITLE).toList();
+        log.debug("Loaded {} starting and {} containing titles for prefix '{}' of user {}",
+                titles.size(), containing.size(), prefix, userId);
+
+        titles.addAll(containing.subList(0, Math.min(remaining, containing.size())));
+        return new Suggestions(titles, rows.size() < fetch && containing.size() <= remaining);
+    }
+
+    // Smallest string above every string that starts with the prefix, in code point (C collation) order
+    static String successor(String prefix) {
+        int last = prefix.codePointBefore(prefix.length());
+        int next = last + 1;
+        if(next >= Character.MIN_SURROGATE && next <= Character.MAX_SURROGATE) {
+            next = Character.MAX_SURROGATE + 1;
+        }
+        return prefix.substring(0, prefix.length() - Character.charCount(last)) + Character.toString(next);
+    }
+
+    static boolean matches(String title, String prefix) {
+        String lowerTitle = title.toLowerCase(Locale.ROOT);
+        return prefix.length() >= CONTAINS_MIN_LENGTH ? lowerTitle.contains(prefix) : lowerTitle.startsWith(prefix);
+    }
+
+    // Order of a complete result: titles starting with the prefix, then the rest, each by title
+    static Comparator<String> ranking(String prefix) {
+        return Comparator.comparing((String title) -> !title.toLowerCase(Locale.ROOT).startsWith(prefix))
+                .thenComparing(BY_TITLE);
+    }
+
+    /**
+     * Suggested titles for one prefix. Complete means no other title of the user matches the prefix.
+     */
+    record Suggestions(List<String> titles, boolean complete) {
+    }
+
+    /**
+     * Access-ordered LRU of prefix to suggestions for one user.
+     */
+    static class RecentPrefixes {
+        private final Map<String, Suggestions> suggestionsByPrefix;
+
+        RecentPrefixes(int capacity) {
+            this.suggestionsByPrefix = new LinkedHashMap<>(capacity, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Suggestions> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized Suggestions lookup(String prefix) {
+            Suggestions exact = suggestionsByPrefix.get(prefix);
+            if(exact != null) {
+                return exact;
+            }
+
+            // Titles matching a longer prefix are a subset of those matching a shorter one,
+            // provided both match anywhere in the title or both only at its start
+            for (int length = prefix.length() - 1; length > 0; length--) {
+                Suggestions shorter = suggestionsByPrefix.get(prefix.substring(0, length));
+                boolean sameMode = length >= CONTAINS_MIN_LENGTH || prefix.length() < CONTAINS_MIN_LENGTH;
+                if(shorter != null && shorter.complete() && sameMode) {
+                    Suggestions refined = new Suggestions(shorter.titles().stream()
+                            .filter(title -> matches(title, prefix))
+                            .sorted(ranking(prefix))
+                            .toList(), true);
+                    suggestionsByPrefix.put(prefix, refined);
+                    return refined;
+                }
+            }
+            return null;
+        }
+
+        synchronized void put(String prefix, Suggestions suggestions) {
+            suggestionsByPrefix.put(prefix, suggestions);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.taskservice.config.TaskChangesProperties;
+import com.deeptechhub.taskservice.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes tombstones past tasks.changes.tombstone-retention. TaskService refuses change tokens older than that,
+ * so no client can still need them. Running on every replica is harmless.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskTombstonePurger {
+    private static final Logger log = LoggerFactory.getLogger(TaskTombstonePurger.class);
+    private final TaskRepository taskRepository;
+    private final TaskChangesProperties properties;
+
+    @Scheduled(fixedDelayString = "${tasks.changes.purge-interval:1h}")
+    @Transactional
+    public void purge() {
+        int purged = taskRepository.purgeTombstones(LocalDateTime.now().minus(properties.getTombstoneRetention()));
+        if(purged > 0) {
+            log.info("Purged {} task tombstones older than {}", purged, properties.getTombstoneRetention());
+        }
+    }
+}
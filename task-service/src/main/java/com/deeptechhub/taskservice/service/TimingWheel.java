@@ -0,0 +1,171 @@
+package com.deeptechhub.taskservice.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel (Varghese and Lauck). Level 0 has wheelSize buckets of tickMillis each and every level
+ * above has buckets as wide as a whole turn of the level below. A timer goes into the lowest level whose turn
+ * covers it and moves down a level each time the clock reaches its bucket, so scheduling, cancelling and advancing
+ * the clock by a tick take constant time however many timers are pending. Timers beyond the top level wait in its
+ * farthest bucket. Timers fire on the first tick at or after their expiration.
+ * Not thread-safe.
+ */
+final class TimingWheel<K> {
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] bucketMillis; // Bucket width per level
+    private final Bucket[][] levels;
+    private final Map<K, Timer> timers = new HashMap<>();
+    private long currentTime; // Start of the current level 0 bucket
+
+    TimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if(tickMillis <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel: tick " + tickMillis + " ms, "
+                    + wheelSize + " buckets, " + levelCount + " levels");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.bucketMillis = new long[levelCount];
+        this.levels = new Bucket[levelCount][wheelSize];
+        for (int level = 0; level < levelCount; level++) {
+            bucketMillis[level] = level == 0 ? tickMillis : Math.multiplyExact(bucketMillis[level - 1], wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                levels[level][slot] = new Bucket();
+            }
+        }
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+    }
+
+    int size() {
+        return timers.size();
+    }
+
+    long currentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Schedules key to fire at expirationMillis, replacing its pending timer if any. Times already reached
+     * fire on the next tick.
+     */
+    void schedule(K key, long expirationMillis) {
+        cancel(key);
+        long expiration = Math.max(roundUpToTick(expirationMillis), currentTime + tickMillis);
+        Timer timer = new Timer(key, expiration);
+        timers.put(key, timer);
+        place(timer);
+    }
+
+    /**
+     * Cancels the pending timer of key, returning false if there was none.
+     */
+    boolean cancel(K key) {
+        Timer timer = timers.remove(key);
+        if(timer == null) {
+            return false;
+        }
+        timer.unlink();
+        return true;
+    }
+
+    /**
+     * Moves the clock forward to nowMillis, handing the keys of the timers that expire on the way to expired.
+     */
+    @SuppressWarnings("unchecked")
+    void advance(long nowMillis, Consumer<K> expired) {
+        while(currentTime + tickMillis <= nowMillis) {
+            currentTime += tickMillis;
+
+            // Highest level first, so cascaded timers land in lower buckets that are visited next
+            for (int level = levels.length - 1; level > 0; level--) {
+                if(currentTime % bucketMillis[level] == 0) {
+                    bucket(level, currentTime).drain().forEach(this::place);
+                }
+            }
+
+            for (Timer timer : bucket(0, currentTime).drain()) {
+                if(timer.expiration > currentTime) {
+                    place(timer); // Waited in the farthest bucket of a single-level wheel
+                } else {
+                    timers.remove((K) timer.key);
+                    expired.accept((K) timer.key);
+                }
+            }
+        }
+    }
+
+    private void place(Timer timer) {
+        for (int level = 0; level < levels.length; level++) {
+            long width = bucketMillis[level];
+            long turnStart = currentTime - currentTime % width;
+            long turnEnd = turnStart + width * wheelSize;
+            if(timer.expiration < turnEnd || level == levels.length - 1) {
+                bucket(level, Math.min(timer.expiration, turnEnd - width)).add(timer);
+                return;
+            }
+        }
+    }
+
+    private Bucket bucket(int level, long time) {
+        return levels[level][(int) ((time / bucketMillis[level]) % wheelSize)];
+    }
+
+    private long roundUpToTick(long millis) {
+        long remainder = Math.floorMod(millis, tickMillis);
+        return remainder == 0 ? millis : millis - remainder + tickMillis;
+    }
+
+    private static final class Timer {
+        private final Object key;
+        private final long expiration;
+        private Timer prev;
+        private Timer next;
+
+        private Timer(Object key, long expiration) {
+            this.key = key;
+            this.expiration = expiration;
+        }
+
+        private void unlink() {
+            if(prev != null) {
+                prev.next = next;
+                next.prev = prev;
+                prev = null;
+                next = null;
+            }
+        }
+    }
+
+    // Circular doubly linked list around a sentinel, so a timer can remove itself in constant time
+    private static final class Bucket {
+        private final Timer head = new Timer(null, 0);
+
+        private Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        private void add(Timer timer) {
+            timer.prev = head.prev;
+            timer.next = head;
+            head.prev.next = timer;
+            head.prev = timer;
+        }
+
+        private List<Timer> drain() {
+            if(head.next == head) {
+                return List.of();
+            }
+            List<Timer> drained = new ArrayList<>();
+            for (Timer timer = head.next; timer != head; timer = timer.next) {
+                drained.add(timer);
+            }
+            drained.forEach(Timer::unlink);
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.common.dto.UserDto;
+import com.deeptechhub.taskservice.client.IdentityServiceClient;
+import com.deeptechhub.taskservice.config.UsernameCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Usernames of task creators cached by user id. The ids missing from the cache are resolved
+ * with a single call to identity-service, however many tasks they were collected from.
+ * Hit and miss counts are published as cache.gets{cache=identity-usernames}.
+ */
+@Component
+public class UsernameCache {
+    private static final Logger log = LoggerFactory.getLogger(UsernameCache.class);
+    static final String CACHE_NAME = "identity-usernames";
+
+    private final IdentityServiceClient identityServiceClient;
+    private final Cache<Long, String> usernames;
+
+    public UsernameCache(IdentityServiceClient identityServiceClient, UsernameCacheProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.identityServiceClient = identityServiceClient;
+        this.usernames = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usernames, CACHE_NAME);
+    }
+
+    /**
+     * Returns the usernames of the given users. Users unknown to identity-service are left out,
+     * and so are all uncached users while identity-service cannot be reached.
+     */
+    public Map<Long, String> getUsernames(Collection<Long> userIds) {
+        Set<Long> distinctIds = userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, String> found = new HashMap<>(usernames.getAllPresent(distinctIds));
+
+        List<Long> missingIds = new ArrayList<>(distinctIds);
+        missingIds.removeAll(found.keySet());
+        if(missingIds.isEmpty()) {
+            return found;
+        }
+
+        try {
+            for(UserDto user : identityServiceClient.getUsersByIds(missingIds)) {
+                usernames.put(user.getId(), user.getUsername());
+                found.put(user.getId(), user.getUsername());
+            }
+        } catch (FeignException ex) {
+            // Usernames only decorate the response, so a failing identity-service must not fail the request
+            log.warn("Could not resolve {} usernames from identity-service: {}", missingIds.size(), ex.getMessage());
+        }
+        return found;
+    }
+
+    public String getUsername(Long userId) {
+        return getUsernames(List.of(userId)).get(userId);
+    }
+}
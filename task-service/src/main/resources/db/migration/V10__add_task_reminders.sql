@@ -0,0 +1,12 @@
+-- Due-date reminders sent by TaskReminderScheduler: one row per task, holding the due date it was last reminded of.
+-- Every replica runs the scheduler; claiming this row is what sends each reminder once. Moving the due date
+-- makes the task due for a new reminder.
+CREATE TABLE IF NOT EXISTS task_reminders (
+    task_id BIGINT PRIMARY KEY REFERENCES tasks (id) ON DELETE CASCADE,
+    due_date TIMESTAMP(6) NOT NULL,
+    reminded_at TIMESTAMP(6) NOT NULL
+);
+
+-- Loading pending reminders in (due_date, id) keyset order. Covers everything idx_tasks_open_due_date served.
+CREATE INDEX IF NOT EXISTS idx_tasks_open_due_date_id ON tasks (due_date, id) WHERE completed = FALSE;
+DROP INDEX IF EXISTS idx_tasks_open_due_date;
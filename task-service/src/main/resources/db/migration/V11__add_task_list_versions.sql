@@ -0,0 +1,33 @@
+-- Version of each user's task lists, behind their ETag (GET /api/tasks). Every statement that writes a user's
+-- tasks raises it by one, so every write path (JPA, batch inserts, native and bulk statements) keeps it current.
+-- The raise locks the user's row until the writing transaction ends, so writers of the same user take turns and
+-- the version a reader sees grows with every commit. MAX(change_seq) does not: a transaction with a lower id can
+-- commit after a higher one and leave the maximum where it was.
+CREATE TABLE IF NOT EXISTS task_list_versions (
+    user_id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+-- Statement level with a transition table, so a bulk statement raises each version once.
+-- Users in id order, so statements writing the tasks of several users lock their rows in the same order.
+CREATE OR REPLACE FUNCTION bump_task_list_versions() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO task_list_versions (user_id, version)
+    SELECT DISTINCT created_by_user_id, 1 FROM changed_tasks ORDER BY created_by_user_id
+    ON CONFLICT (user_id) DO UPDATE SET version = task_list_versions.version + 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- A trigger with transition tables takes a single event, hence one per event
+CREATE OR REPLACE TRIGGER trg_tasks_bump_list_versions_insert AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS changed_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_task_list_versions();
+
+CREATE OR REPLACE TRIGGER trg_tasks_bump_list_versions_update AFTER UPDATE ON tasks
+    REFERENCING NEW TABLE AS changed_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_task_list_versions();
+
+CREATE OR REPLACE TRIGGER trg_tasks_bump_list_versions_delete AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS changed_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_task_list_versions();
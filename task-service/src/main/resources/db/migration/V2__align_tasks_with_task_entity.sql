@@ -0,0 +1,35 @@
+-- Bring the tasks table in line with the Task entity. Until now the entity's table was
+-- created by hibernate ddl-auto (as "task"), so V1 never matched what the service wrote.
+ALTER TABLE tasks DROP COLUMN IF EXISTS created_by;
+
+ALTER TABLE tasks
+    ADD COLUMN IF NOT EXISTS description VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS due_date TIMESTAMP(6),
+    ADD COLUMN IF NOT EXISTS completed BOOLEAN NOT NULL DEFAULT FALSE,
+    ADD COLUMN IF NOT EXISTS created_by_user_id BIGINT NOT NULL,
+    ADD COLUMN IF NOT EXISTS created_at TIMESTAMP(6) NOT NULL DEFAULT LOCALTIMESTAMP,
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+
+-- Ids come from the pooled task_seq (allocationSize 50) instead of the BIGSERIAL default
+ALTER TABLE tasks ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS tasks_id_seq;
+CREATE SEQUENCE IF NOT EXISTS task_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE task_seq INCREMENT BY 50;
+
+-- Carry over rows from the table ddl-auto created before migrations were in place
+DO $$
+BEGIN
+    IF to_regclass('task') IS NOT NULL THEN
+        INSERT INTO tasks (id, title, description, due_date, completed, created_by_user_id, created_at, updated_at)
+        SELECT id, COALESCE(title, ''), description, due_date, completed, created_by_user_id,
+               COALESCE(created_at, LOCALTIMESTAMP), updated_at
+        FROM task
+        WHERE created_by_user_id IS NOT NULL;
+
+        DROP TABLE task;
+    END IF;
+END $$;
+
+-- The pooled optimizer treats each nextval as the top of a 50-id block, so leave a full block
+-- of headroom above the carried-over ids
+SELECT setval('task_seq', COALESCE((SELECT MAX(id) FROM tasks), 0) + 50, false);
@@ -0,0 +1,14 @@
+-- Keyset pagination of a user's tasks: WHERE created_by_user_id = ? ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_tasks_user_created_at_id ON tasks (created_by_user_id, created_at, id);
+
+-- Keyset pagination of all tasks for admins: ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id ON tasks (created_at, id);
+
+-- Filtering a user's tasks on completion and due date (task filters, bulk operations)
+CREATE INDEX IF NOT EXISTS idx_tasks_user_completed_due_date ON tasks (created_by_user_id, completed, due_date);
+
+-- Open tasks by due date; completed tasks are the bulk of the table and never needed here
+CREATE INDEX IF NOT EXISTS idx_tasks_open_due_date ON tasks (due_date) WHERE completed = FALSE;
+
+-- created_at follows insertion order, so a BRIN index serves date range scans at a fraction of a btree's size
+CREATE INDEX IF NOT EXISTS brin_tasks_created_at ON tasks USING BRIN (created_at);
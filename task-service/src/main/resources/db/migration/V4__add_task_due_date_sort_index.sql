@@ -0,0 +1,3 @@
+-- Keyset pagination of a user's tasks sorted by due date (sort=dueDate / -dueDate) when no completed filter
+-- pins the leading column of idx_tasks_user_completed_due_date
+CREATE INDEX IF NOT EXISTS idx_tasks_user_due_date_id ON tasks (created_by_user_id, due_date, id);
@@ -0,0 +1,9 @@
+-- Full-text search over a user's tasks. Title matches rank above description matches.
+-- The column is generated, so every write path (JPA, batch inserts, native updates) keeps it current.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', COALESCE(title, '')), 'A') ||
+        setweight(to_tsvector('english', COALESCE(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS gin_tasks_search_vector ON tasks USING GIN (search_vector);
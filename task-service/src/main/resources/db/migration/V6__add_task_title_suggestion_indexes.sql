@@ -0,0 +1,11 @@
+-- Typeahead over a user's task titles (/api/tasks/suggest)
+
+-- Titles starting with the typed text: a range scan in lower(title) order that stops at the limit.
+-- COLLATE "C" compares bytes, so [prefix, prefix with its last character incremented) is exactly the
+-- set of titles starting with the prefix.
+CREATE INDEX IF NOT EXISTS idx_tasks_user_title_prefix ON tasks (created_by_user_id, (lower(title) COLLATE "C"), title);
+
+-- Text found anywhere in the title: LIKE '%text%' on lower(title) can use trigrams instead of a seq scan
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS gin_tasks_title_trgm ON tasks USING GIN (lower(title) gin_trgm_ops);
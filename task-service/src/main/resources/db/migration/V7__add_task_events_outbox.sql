@@ -0,0 +1,15 @@
+-- Transactional outbox of task changes. TaskService inserts a row in the same transaction as the change,
+-- TaskEventRelay publishes the rows to a Redis stream and deletes them.
+-- Ids come from the BIGSERIAL at insert time, after the task row has been written and locked, so the
+-- events of one task are numbered in the order their transactions committed.
+CREATE TABLE IF NOT EXISTS task_events (
+    id BIGSERIAL PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    payload JSONB,
+    created_at TIMESTAMP(6) NOT NULL DEFAULT LOCALTIMESTAMP
+);
+
+-- Finding older events of the tasks in a batch
+CREATE INDEX IF NOT EXISTS idx_task_events_task_id ON task_events (task_id, id);
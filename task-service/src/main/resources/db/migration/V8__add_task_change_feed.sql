@@ -0,0 +1,45 @@
+-- Delta sync for offline clients (GET /api/tasks/changes): every write stamps the task row with the id of its
+-- transaction, and every delete leaves a tombstone stamped the same way. Triggers maintain both, so every
+-- write path (JPA, batch inserts, native and bulk statements) keeps them current.
+-- Transaction ids rather than a sequence order the changes: all transactions older than the oldest one still
+-- running (pg_snapshot_xmin) have finished, so no change can commit behind that horizon and a client cursor
+-- below it never skips one. A sequence value is taken before commit and can become visible out of order.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS change_seq BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS task_tombstones (
+    task_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL DEFAULT LOCALTIMESTAMP
+);
+
+CREATE OR REPLACE FUNCTION stamp_task_change() RETURNS trigger AS $$
+BEGIN
+    NEW.change_seq := CAST(CAST(pg_current_xact_id() AS text) AS bigint);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER trg_tasks_stamp_change BEFORE INSERT OR UPDATE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION stamp_task_change();
+
+-- Statement level with a transition table, so a bulk delete writes its tombstones in one insert
+CREATE OR REPLACE FUNCTION record_task_tombstones() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO task_tombstones (task_id, user_id, change_seq)
+    SELECT id, created_by_user_id, CAST(CAST(pg_current_xact_id() AS text) AS bigint) FROM deleted_tasks;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER trg_tasks_record_tombstones AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS deleted_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION record_task_tombstones();
+
+-- A user's changes after a cursor: WHERE created_by_user_id = ? AND (change_seq, id) > (?, ?) ORDER BY change_seq, id
+CREATE INDEX IF NOT EXISTS idx_tasks_user_change_seq ON tasks (created_by_user_id, change_seq, id);
+
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_user_change_seq ON task_tombstones (user_id, change_seq, task_id);
+
+-- Purging tombstones past their retention; deleted_at follows insertion order like tasks.created_at
+CREATE INDEX IF NOT EXISTS brin_task_tombstones_deleted_at ON task_tombstones USING BRIN (deleted_at);
@@ -0,0 +1,3 @@
+-- Optimistic locking of tasks (JPA @Version), also the ETag of GET /api/tasks/{id} and the If-Match of PUT.
+-- Native and bulk updates increment it themselves, since they bypass Hibernate.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,52 @@
+package com.deeptechhub.taskservice.config;
+
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeignConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(FeignAutoConfiguration.class))
+            .withUserConfiguration(FeignConfig.class, FeignPoolProperties.class)
+            .withPropertyValues("spring.cloud.openfeign.httpclient.max-connections=120",
+                    "spring.cloud.openfeign.httpclient.max-connections-per-route=30");
+
+    @Test
+    public void testPooledClientPublishesPoolGauges() {
+        contextRunner.run(context -> {
+            assertInstanceOf(ApacheHttp5Client.class, context.getBean(Client.class));
+
+            MeterRegistry registry = new SimpleMeterRegistry();
+            context.getBean("feignConnectionPoolMetrics", MeterBinder.class).bindTo(registry);
+
+            assertEquals(120, gauge(registry, "httpcomponents.httpclient.pool.total.max"));
+            assertEquals(30, gauge(registry, "httpcomponents.httpclient.pool.route.max.default"));
+            assertEquals(0, gauge(registry, "httpcomponents.httpclient.pool.total.pending"));
+        });
+    }
+
+    @Test
+    public void testHttp2ReplacesThePool() {
+        contextRunner.withPropertyValues("spring.cloud.openfeign.http2client.enabled=true").run(context -> {
+            assertInstanceOf(Http2Client.class, context.getBean(Client.class));
+
+            MeterRegistry registry = new SimpleMeterRegistry();
+            context.getBean("feignConnectionPoolMetrics", MeterBinder.class).bindTo(registry);
+
+            assertTrue(registry.getMeters().isEmpty());
+        });
+    }
+
+    private double gauge(MeterRegistry registry, String name) {
+        return registry.get(name).tag("httpclient", FeignConfig.POOL_NAME).gauge().value();
+    }
+}
@@ -33,8 +33,8 @@ public abstract class TestContainersConfig {
         registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
 
         // Redis
-        registry.add("spring.redis.host", redisContainer::getHost);
-        registry.add("spring.redis.port", redisContainer::getFirstMappedPort);
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", redisContainer::getFirstMappedPort);
 
         // Mail (MailHog)
         registry.add("spring.mail.host", mailhogContainer::getHost);
@@ -0,0 +1,9 @@
+package com.deeptechhub.taskservice.controller;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.context.TestPropertySource;
+
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+public class PlatformThreadsLoadIntegrationTest extends ThreadModeLoadIntegrationTest {
+}
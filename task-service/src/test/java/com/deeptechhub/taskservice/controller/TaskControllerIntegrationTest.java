@@ -4,6 +4,9 @@ import com.deeptechhub.common.dto.UserDto;
 import com.deeptechhub.taskservice.BaseIntegrationTest;
 import com.deeptechhub.taskservice.client.IdentityServiceClient;
 import com.deeptechhub.taskservice.domain.Task;
+import com.deeptechhub.taskservice.dto.TaskBatchRequest;
+import com.deeptechhub.taskservice.dto.TaskBulkAction;
+import com.deeptechhub.taskservice.dto.TaskBulkRequest;
 import com.deeptechhub.taskservice.dto.TaskRequest;
 import com.deeptechhub.taskservice.repository.TaskRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,11 +19,14 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -61,6 +67,32 @@ public class TaskControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.title").value("Integration Task"));
     }
 
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void createTasks_shouldCreateBatch() throws Exception {
+        TaskBatchRequest request = new TaskBatchRequest(List.of(
+                new TaskRequest("Batch 1", "Desc", LocalDateTime.now().plusDays(1)),
+                new TaskRequest("Batch 2", "Desc", LocalDateTime.now().plusDays(2))));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.ids.length()").value(2));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void createTasks_withInvalidTask_shouldReturnBadRequest() throws Exception {
+        TaskBatchRequest request = new TaskBatchRequest(List.of(new TaskRequest("", "Desc", null)));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(username = "user", roles = "USER")
     void getUserTasks_shouldReturnTasks() throws Exception {
@@ -73,7 +105,119 @@ public class TaskControllerIntegrationTest extends BaseIntegrationTest {
 
         mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].title").value("Title"));
+                .andExpect(jsonPath("$.items[0].title").value("Title"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void getUserTasks_shouldPageWithCursor() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDueDate(LocalDateTime.now().plusDays(1));
+            task.setCreatedByUserId(1L);
+            taskRepository.save(task);
+        }
+
+        String body = mockMvc.perform(get("/api/tasks").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].title").value("Task 3"))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/tasks").param("limit", "2").param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Task 1"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void getUserTasks_shouldFilterAndSortInDatabase() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        String[][] rows = {{"Quarterly report", "2", "false"}, {"Report draft", "1", "false"},
+                {"Report sent", "1", "true"}, {"Groceries", "1", "false"}};
+        for (String[] row : rows) {
+            Task task = new Task();
+            task.setTitle(row[0]);
+            task.setDueDate(now.plusDays(Long.parseLong(row[1])));
+            task.setCompleted(Boolean.parseBoolean(row[2]));
+            task.setCreatedByUserId(1L);
+            taskRepository.save(task);
+        }
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("completed", "false")
+                        .param("q", "REPORT")
+                        .param("dueAfter", now.toString())
+                        .param("sort", "dueDate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].title").value("Report draft"))
+                .andExpect(jsonPath("$.items[1].title").value("Quarterly report"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void searchTasks_shouldRankTitleMatchesFirstAndStayInUserScope() throws Exception {
+        Object[][] rows = {{"Call the bank", "Ask about the quarterly reports", 1L},
+                {"Quarterly report", "Numbers for Q3", 1L},
+                {"Groceries", "Milk", 1L},
+                {"Quarterly report of another user", null, 2L}};
+        for (Object[] row : rows) {
+            Task task = new Task();
+            task.setTitle((String) row[0]);
+            task.setDescription((String) row[1]);
+            task.setCreatedByUserId((Long) row[2]);
+            taskRepository.save(task);
+        }
+
+        String body = mockMvc.perform(get("/api/tasks/search").param("q", "quarterly report").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Quarterly report"))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "quarterly report").param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Call the bank"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void suggestTaskTitles_shouldPutTitlesStartingWithPrefixFirst() throws Exception {
+        for (String title : List.of("Quarterly report", "Report draft", "Report draft", "Groceries")) {
+            Task task = new Task();
+            task.setTitle(title);
+            task.setCreatedByUserId(1L);
+            taskRepository.save(task);
+        }
+
+        mockMvc.perform(get("/api/tasks/suggest").param("prefix", "repo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0]").value("Report draft"))
+                .andExpect(jsonPath("$[1]").value("Quarterly report"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void getUserTasks_withUnknownSort_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("sort", "description"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void getUserTasks_withInvalidCursor_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -83,6 +227,28 @@ public class TaskControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportTasks_shouldWriteNdjson() throws Exception {
+        Task task = new Task();
+        task.setTitle("Exported");
+        task.setDueDate(LocalDateTime.now().plusDays(1));
+        task.setCreatedByUserId(1L);
+        taskRepository.save(task);
+
+        mockMvc.perform(get("/api/tasks/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"title\":\"Exported\"")));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void exportTasks_shouldBeForbiddenForUsers() throws Exception {
+        mockMvc.perform(get("/api/tasks/export"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @WithMockUser(username = "user", roles = "USER")
     void getTaskById_shouldSucceed() throws Exception {
@@ -112,6 +278,27 @@ public class TaskControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void bulkUpdateTasks_shouldCompleteOnlyOwnTasks() throws Exception {
+        Task own = new Task();
+        own.setTitle("Own");
+        own.setCreatedByUserId(1L);
+        Task other = new Task();
+        other.setTitle("Other");
+        other.setCreatedByUserId(2L);
+        taskRepository.saveAllAndFlush(List.of(own, other));
+
+        TaskBulkRequest request = new TaskBulkRequest(TaskBulkAction.COMPLETE,
+                List.of(own.getId(), other.getId()), null, null);
+
+        mockMvc.perform(patch("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+    }
+
     @Test
     @WithMockUser(username = "user", roles = "USER")
     void updateTask_shouldSucceed() throws Exception {
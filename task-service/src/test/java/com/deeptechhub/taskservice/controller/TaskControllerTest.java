@@ -1,22 +1,53 @@
 package com.deeptechhub.taskservice.controller;
 
+import com.deeptechhub.common.dto.UserDto;
+import com.deeptechhub.taskservice.dto.CursorPage;
+import com.deeptechhub.taskservice.dto.TaskBatchRequest;
+import com.deeptechhub.taskservice.dto.TaskBatchResponse;
+import com.deeptechhub.taskservice.dto.TaskBulkAction;
+import com.deeptechhub.taskservice.dto.TaskBulkRequest;
+import com.deeptechhub.taskservice.dto.TaskBulkResponse;
+import com.deeptechhub.taskservice.dto.TaskChangesResponse;
+import com.deeptechhub.taskservice.dto.TaskMergePatch;
+import com.deeptechhub.taskservice.dto.TaskMultiGetRequest;
+import com.deeptechhub.taskservice.dto.TaskMultiGetResponse;
+import com.deeptechhub.taskservice.dto.TaskQuery;
 import com.deeptechhub.taskservice.dto.TaskRequest;
 import com.deeptechhub.taskservice.dto.TaskResponse;
+import com.deeptechhub.taskservice.dto.TaskSort;
+import com.deeptechhub.taskservice.security.SecurityHelper;
+import com.deeptechhub.taskservice.service.TaskExportService;
 import com.deeptechhub.taskservice.service.TaskService;
+import com.deeptechhub.taskservice.service.TaskStreamHub;
+import com.deeptechhub.taskservice.service.TaskSuggestionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.security.Principal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -26,6 +57,18 @@ public class TaskControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private TaskExportService taskExportService;
+
+    @Mock
+    private TaskSuggestionService taskSuggestionService;
+
+    @Mock
+    private TaskStreamHub taskStreamHub;
+
+    @Mock
+    private SecurityHelper securityHelper;
+
     @Mock
     private Principal principal;
 
@@ -35,7 +78,7 @@ public class TaskControllerTest {
     @Test
     void createTask_shouldReturnCreatedResponse() {
         TaskRequest request = new TaskRequest("Title", "Desc", LocalDateTime.now().plusDays(1));
-        TaskResponse response = new TaskResponse(1L, "Title", "Desc", "user1", request.dueDate(), false);
+        TaskResponse response = new TaskResponse(1L, "Title", "Desc", "user1", request.dueDate(), false, 1L);
 
         when(taskService.createTask(request)).thenReturn(response);
         when(principal.getName()).thenReturn("user1");
@@ -47,37 +90,163 @@ public class TaskControllerTest {
         assertEquals(response, result.getBody());
     }
 
+    @Test
+    void createTasks_shouldReturnCreatedBatch() {
+        TaskRequest request = new TaskRequest("Title", "Desc", LocalDateTime.now().plusDays(1));
+        TaskBatchResponse response = new TaskBatchResponse(1, List.of(1L), 5, 200.0);
+
+        when(taskService.createTasks(List.of(request))).thenReturn(response);
+        when(principal.getName()).thenReturn("user1");
+
+        ResponseEntity<TaskBatchResponse> result = taskController.createTasks(new TaskBatchRequest(List.of(request)), principal);
+
+        assertEquals(HttpStatus.CREATED, result.getStatusCode());
+        assertEquals(response, result.getBody());
+    }
+
     @Test
     void getUserTasks_shouldReturnTaskList() {
-        TaskResponse task = new TaskResponse(1L, "Title", "Desc", "user1", LocalDateTime.now(), false);
-        when(taskService.getUserTasks("user1")).thenReturn(List.of(task));
+        TaskResponse task = new TaskResponse(1L, "Title", "Desc", "user1", LocalDateTime.now(), false, 1L);
+        when(taskService.getUserTasksVersion()).thenReturn("7-2");
+        when(taskService.getUserTasks("user1", TaskQuery.unfiltered(), 50, null, "7-2"))
+                .thenReturn(new CursorPage<>(List.of(task), null));
         when(principal.getName()).thenReturn("user1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        CursorPage<TaskResponse> result = taskController.getUserTasks(principal, null, null, null, null,
+                TaskSort.DEFAULT_PARAM, 50, null, webRequest(null, response));
+
+        assertEquals("\"7-2\"", response.getHeader(HttpHeaders.ETAG));
+
+        assertEquals(1, result.items().size());
+        assertEquals("Title", result.items().get(0).title());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void getUserTasks_shouldPassFiltersAndSort() {
+        LocalDateTime dueBefore = LocalDateTime.of(2025, 2, 1, 0, 0);
+        TaskQuery query = new TaskQuery(false, dueBefore, null, "report", TaskSort.DUE_DATE_ASC);
+        when(taskService.getUserTasksVersion()).thenReturn("7-2");
+        when(taskService.getUserTasks("user1", query, 20, null, "7-2")).thenReturn(new CursorPage<>(List.of(), null));
+        when(principal.getName()).thenReturn("user1");
+
+        taskController.getUserTasks(principal, false, dueBefore, null, "report", "dueDate", 20, null,
+                webRequest(null, new MockHttpServletResponse()));
+
+        verify(taskService).getUserTasks("user1", query, 20, null, "7-2");
+    }
+
+    @Test
+    void getUserTasks_withUnknownSort_shouldThrowIllegalArgument() {
+        when(principal.getName()).thenReturn("user1");
+
+        assertThrows(IllegalArgumentException.class, () -> taskController.getUserTasks(principal, null, null, null,
+                null, "title", 50, null, webRequest(null, new MockHttpServletResponse())));
+    }
+
+    @Test
+    void getUserTasks_withCurrentETag_shouldReturnNotModified() {
+        when(taskService.getUserTasksVersion()).thenReturn("7-2");
+        when(principal.getName()).thenReturn("user1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(taskController.getUserTasks(principal, null, null, null, null, TaskSort.DEFAULT_PARAM, 50, null,
+                webRequest("\"7-2\"", response)));
+
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        verify(taskService, never()).getUserTasks(any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void searchTasks_shouldReturnRankedPage() {
+        TaskResponse task = new TaskResponse(1L, "Quarterly report", "Desc", "user1", LocalDateTime.now(), false, 1L);
+        when(taskService.searchTasks("report", 20, null)).thenReturn(new CursorPage<>(List.of(task), "next"));
+        when(principal.getName()).thenReturn("user1");
+
+        CursorPage<TaskResponse> result = taskController.searchTasks(principal, "report", 20, null);
+
+        assertEquals("Quarterly report", result.items().get(0).title());
+        assertEquals("next", result.nextCursor());
+    }
+
+    @Test
+    void suggestTaskTitles_shouldReturnTitles() {
+        when(taskSuggestionService.suggestTitles("rep")).thenReturn(List.of("Report", "Quarterly report"));
 
-        List<TaskResponse> result = taskController.getUserTasks(principal);
+        assertEquals(List.of("Report", "Quarterly report"), taskController.suggestTaskTitles("rep"));
+    }
+
+    @Test
+    void getTasks_shouldReturnMultiGetResults() {
+        TaskMultiGetResponse response = new TaskMultiGetResponse(List.of(TaskMultiGetResponse.Result.notFound(3L)));
+        when(taskService.getTasks(List.of(3L))).thenReturn(response);
+
+        assertEquals(response, taskController.getTasks(new TaskMultiGetRequest(List.of(3L))));
+    }
+
+    @Test
+    void getTaskChanges_shouldReturnChangesSinceToken() {
+        TaskChangesResponse response = new TaskChangesResponse(List.of(), List.of(3L), "next", false);
+        when(taskService.getTaskChanges("token", 500)).thenReturn(response);
+
+        assertEquals(response, taskController.getTaskChanges("token", 500));
+    }
 
-        assertEquals(1, result.size());
-        assertEquals("Title", result.get(0).title());
+    @Test
+    void streamTasks_shouldSubscribeCurrentUser() {
+        UserDto user = UserDto.builder().id(7L).username("user1").build();
+        SseEmitter emitter = new SseEmitter();
+        when(securityHelper.getCurrentUser()).thenReturn(user);
+        when(taskStreamHub.subscribe(7L, "1700000000000-0")).thenReturn(emitter);
+
+        assertSame(emitter, taskController.streamTasks("1700000000000-0"));
     }
 
     @Test
     void getAllTasks_shouldReturnAllTasks() {
-        TaskResponse task = new TaskResponse(1L, "Title", "Desc", "admin", LocalDateTime.now(), false);
-        when(taskService.getAllTasks()).thenReturn(List.of(task));
+        TaskResponse task = new TaskResponse(1L, "Title", "Desc", "admin", LocalDateTime.now(), false, 1L);
+        when(taskService.getAllTasks(50, "cursor")).thenReturn(new CursorPage<>(List.of(task), "next"));
+
+        CursorPage<TaskResponse> result = taskController.getAllTasks(principal, 50, "cursor");
 
-        List<TaskResponse> result = taskController.getAllTasks(principal);
+        assertEquals(1, result.items().size());
+        assertEquals("next", result.nextCursor());
+    }
+
+    @Test
+    void exportTasks_shouldStreamNdjson() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
 
-        assertEquals(1, result.size());
+        taskController.exportTasks(response);
+
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, response.getContentType().split(";")[0]);
+        verify(taskExportService).exportAllTasks(response.getOutputStream());
     }
 
     @Test
     void getTaskById_shouldReturnTask() {
-        TaskResponse task = new TaskResponse(1L, "Title", "Desc", "user1", LocalDateTime.now(), false);
+        TaskResponse task = new TaskResponse(1L, "Title", "Desc", "user1", LocalDateTime.now(), false, 1L);
         when(taskService.getTask(1L)).thenReturn(task);
 
-        ResponseEntity<TaskResponse> result = taskController.getTaskById(1L);
+        ResponseEntity<TaskResponse> result = taskController.getTaskById(1L,
+                webRequest(null, new MockHttpServletResponse()));
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("\"1\"", result.getHeaders().getETag());
         assertEquals(task, result.getBody());
+        verify(taskService, never()).getTaskVersion(any());
+    }
+
+    @Test
+    void getTaskById_withCurrentETag_shouldReturnNotModifiedWithoutLoadingTask() {
+        when(taskService.getTaskVersion(1L)).thenReturn(4L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(taskController.getTaskById(1L, webRequest("\"4\"", response)));
+
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        verify(taskService, never()).getTask(any());
     }
 
     @Test
@@ -87,16 +256,84 @@ public class TaskControllerTest {
         verify(taskService).deleteTask(1L);
     }
 
+    @Test
+    void bulkUpdateTasks_shouldReturnAffectedCount() {
+        TaskBulkRequest request = new TaskBulkRequest(TaskBulkAction.COMPLETE, List.of(1L, 2L), null, null);
+        when(taskService.bulkUpdateTasks(request)).thenReturn(new TaskBulkResponse(TaskBulkAction.COMPLETE, 2));
+
+        ResponseEntity<TaskBulkResponse> result = taskController.bulkUpdateTasks(request);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(2, result.getBody().affected());
+    }
+
     @Test
     void updateTask_shouldReturnUpdatedTask() {
         TaskRequest request = new TaskRequest("Updated", "Updated Desc", LocalDateTime.now().plusDays(2));
-        TaskResponse updated = new TaskResponse(1L, "Updated", "Updated Desc", "user1", request.dueDate(), false);
+        TaskResponse updated = new TaskResponse(1L, "Updated", "Updated Desc", "user1", request.dueDate(), false, 1L);
 
-        when(taskService.updateTask(1L, request)).thenReturn(updated);
+        when(taskService.updateTask(1L, request, null)).thenReturn(updated);
 
-        ResponseEntity<TaskResponse> result = taskController.updateTask(request, 1L);
+        ResponseEntity<TaskResponse> result = taskController.updateTask(request, 1L, null);
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("\"1\"", result.getHeaders().getETag());
         assertEquals(updated, result.getBody());
     }
+
+    @Test
+    void updateTask_withIfMatch_shouldPassExpectedVersion() {
+        TaskRequest request = new TaskRequest("Updated", null, null);
+        TaskResponse updated = new TaskResponse(1L, "Updated", "Desc", "user1", null, false, 4L);
+        when(taskService.updateTask(1L, request, 3L)).thenReturn(updated);
+
+        ResponseEntity<TaskResponse> result = taskController.updateTask(request, 1L, "\"3\"");
+
+        assertEquals("\"4\"", result.getHeaders().getETag());
+    }
+
+    @Test
+    void updateTask_withWeakIfMatch_shouldFailPrecondition() {
+        TaskRequest request = new TaskRequest("Updated", null, null);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> taskController.updateTask(request, 1L, "W/\"3\""));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, e.getStatusCode());
+        verify(taskService, never()).updateTask(any(), any(), any());
+    }
+
+    @Test
+    void patchTask_shouldPassSuppliedFieldsAndIfMatch() throws Exception {
+        JsonNode patch = new ObjectMapper().readTree("{\"description\":null,\"completed\":true}");
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("description", null);
+        columns.put("completed", true);
+        TaskResponse patched = new TaskResponse(1L, "Title", null, "user1", null, true, 4L);
+        when(taskService.patchTask(1L, new TaskMergePatch(columns, null), 3L)).thenReturn(patched);
+
+        ResponseEntity<TaskResponse> result = taskController.patchTask(patch, 1L, "\"3\"");
+
+        assertEquals("\"4\"", result.getHeaders().getETag());
+        assertEquals(patched, result.getBody());
+    }
+
+    @Test
+    void patchTask_withReadOnlyOrInvalidFields_shouldBeRejected() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        for (String patch : List.of("{\"createdBy\":\"other\"}", "{\"title\":null}", "{\"completed\":\"yes\"}",
+                "{\"dueDate\":\"tomorrow\"}", "[]")) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> taskController.patchTask(objectMapper.readTree(patch), 1L, "\"3\""), patch);
+        }
+        verify(taskService, never()).patchTask(any(), any(), any());
+    }
+
+    private ServletWebRequest webRequest(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        if(ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
 }
@@ -0,0 +1,153 @@
+package com.deeptechhub.taskservice.controller;
+
+import com.deeptechhub.taskservice.BaseIntegrationTest;
+import com.deeptechhub.taskservice.client.IdentityServiceClient;
+import com.deeptechhub.taskservice.config.TestConfig;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * 1000 concurrent clients listing their tasks over real HTTP connections, logging throughput and latency
+ * percentiles. Subclasses run it once on Tomcat's platform thread pool and once with a virtual thread per request,
+ * everything else (Hikari pool size included) being equal. Takes a few minutes, so it only runs on request:
+ * mvn -pl task-service -am test -Dtest='*ThreadsLoadIntegrationTest' -Dsurefire.failIfNoSpecifiedTests=false -Dbenchmark=true
+ */
+@TestPropertySource(properties = "jwt.stateless-auth=true") // Users come from the token, identity-service is not called
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // The seeded tasks must be visible to the server threads
+abstract class ThreadModeLoadIntegrationTest extends BaseIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(ThreadModeLoadIntegrationTest.class);
+    private static final int CLIENTS = 1000;
+    private static final int WARMUP_REQUESTS_PER_CLIENT = 5;
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final int TASKS = 50;
+    private static final long USER_ID = 1L;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private IdentityServiceClient identityServiceClient;
+
+    private String token;
+
+    @BeforeEach
+    void seedTasks() {
+        jdbcTemplate.update("""
+                INSERT INTO tasks (id, title, description, due_date, completed, created_by_user_id, created_at)
+                SELECT n + 1000000000, 'Load test task #' || n, 'Created for the thread mode load test',
+                       LOCALTIMESTAMP + n * INTERVAL '1 day', false, ?, LOCALTIMESTAMP - n * INTERVAL '1 second'
+                FROM generate_series(1, ?) AS n
+                """, USER_ID, TASKS);
+        when(identityServiceClient.getUsersByIds(anyList())).thenReturn(List.of());
+
+        token = Jwts.builder()
+                .claims(Map.of("uid", USER_ID, "role", "USER"))
+                .subject("loadtest")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(new TestConfig().jwtSecret())))
+                .compact();
+    }
+
+    @AfterEach
+    void deleteTasks() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE created_by_user_id = ?", USER_ID);
+    }
+
+    @Test
+    void listTasksUnderLoad() throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1) // One connection per client, as browsers behind the gateway would
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks?limit=20"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+
+        run(httpClient, request, WARMUP_REQUESTS_PER_CLIENT);
+
+        long start = System.nanoTime();
+        long[] nanos = run(httpClient, request, REQUESTS_PER_CLIENT);
+        long elapsedNanos = System.nanoTime() - start;
+        Arrays.sort(nanos);
+
+        log.info("{} threads, {} clients: {} requests/s, p50 {} ms, p99 {} ms, max {} ms",
+                virtualThreads ? "virtual" : "platform", CLIENTS,
+                Math.round(nanos.length / (elapsedNanos / 1_000_000_000d)),
+                millis(nanos[nanos.length / 2]), millis(nanos[nanos.length * 99 / 100]), millis(nanos[nanos.length - 1]));
+    }
+
+    private long[] run(HttpClient httpClient, HttpRequest request, int requestsPerClient) throws Exception {
+        long[] nanos = new long[CLIENTS * requestsPerClient];
+        AtomicInteger failures = new AtomicInteger();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int client = 0; client < CLIENTS; client++) {
+                int offset = client * requestsPerClient;
+                runs.add(clients.submit(() -> {
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        nanos[offset + i] = System.nanoTime() - start;
+                        if(response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        }
+
+        assertEquals(0, failures.get(), "Requests not answered with 200");
+        return nanos;
+    }
+
+    private String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000d);
+    }
+}
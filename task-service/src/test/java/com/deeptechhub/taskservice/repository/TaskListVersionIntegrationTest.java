@@ -0,0 +1,104 @@
+package com.deeptechhub.taskservice.repository;
+
+import com.deeptechhub.taskservice.BaseIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * The list ETag must change with every commit, whatever order the writing transactions took their ids in.
+ * Writes commit on their own connections, so the test runs outside the rolled back test transaction.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskListVersionIntegrationTest extends BaseIntegrationTest {
+    private static final long USER_ID = 7_000_001L;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM tasks WHERE created_by_user_id = " + USER_ID);
+            statement.executeUpdate("DELETE FROM task_tombstones WHERE user_id = " + USER_ID);
+            statement.executeUpdate("DELETE FROM task_list_versions WHERE user_id = " + USER_ID);
+        }
+    }
+
+    @Test
+    void listVersionChangesWhenAnOlderTransactionCommitsLast() throws SQLException {
+        long taskA;
+        long taskB;
+        try (Connection connection = dataSource.getConnection()) {
+            taskA = insertTask(connection, "a");
+            taskB = insertTask(connection, "b");
+        }
+
+        try (Connection older = dataSource.getConnection(); Connection newer = dataSource.getConnection()) {
+            older.setAutoCommit(false);
+            newer.setAutoCommit(false);
+            try (Statement statement = older.createStatement()) {
+                statement.execute("SELECT pg_current_xact_id()"); // Takes the lower transaction id
+            }
+
+            rename(newer, taskB, "b2");
+            newer.commit();
+            String afterNewer = taskRepository.findListVersion(USER_ID);
+
+            rename(older, taskA, "a2");
+            older.commit();
+            String afterOlder = taskRepository.findListVersion(USER_ID);
+
+            assertNotEquals(afterNewer, afterOlder);
+        }
+    }
+
+    @Test
+    void listVersionChangesOnBulkDelete() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            insertTask(connection, "a");
+            insertTask(connection, "b");
+        }
+        String before = taskRepository.findListVersion(USER_ID);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM tasks WHERE created_by_user_id = " + USER_ID);
+        }
+
+        assertNotEquals(before, taskRepository.findListVersion(USER_ID));
+    }
+
+    private static long insertTask(Connection connection, String title) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO tasks (id, title, created_by_user_id) VALUES (nextval('task_seq'), ?, ?) RETURNING id")) {
+            statement.setString(1, title);
+            statement.setLong(2, USER_ID);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private static void rename(Connection connection, long taskId, String title) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("UPDATE tasks SET title = ? WHERE id = ?")) {
+            statement.setString(1, title);
+            statement.setLong(2, taskId);
+            statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.deeptechhub.taskservice.repository;
+
+import com.deeptechhub.taskservice.BaseIntegrationTest;
+import com.deeptechhub.taskservice.domain.Task;
+import com.deeptechhub.taskservice.dto.TaskCursor;
+import com.deeptechhub.taskservice.dto.TaskQuery;
+import com.deeptechhub.taskservice.dto.TaskSort;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the SQL generated for each TaskRepository query through EXPLAIN and asserts that
+ * Postgres can answer it without a sequential scan, i.e. that the migrations provide an index for it.
+ * Sequential scans are disabled for the session so that the plan does not depend on table size.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.deeptechhub.taskservice.repository.TaskRepositoryQueryPlanIntegrationTest$RecordingStatementInspector")
+public class TaskRepositoryQueryPlanIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void disableSeqScan() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+    }
+
+    @Test
+    void keysetPaginationQueriesUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertNoSeqScans(() -> {
+            taskRepository.findByCreatedByUserId(1L);
+            taskRepository.findAllByOrderByCreatedAtDescIdDesc(Limit.of(10));
+            taskRepository.findAllTasksAfter(now, 1L, Limit.of(10));
+        });
+    }
+
+    @Test
+    void filteredTaskListsUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertNoSeqScans(() -> {
+            for (TaskSort sort : TaskSort.values()) {
+                TaskQuery query = new TaskQuery(null, null, null, null, sort);
+                findPage(TaskSpecifications.matching(1L, query), sort);
+                findPage(TaskSpecifications.matching(1L, query)
+                        .and(TaskSpecifications.after(sort, new TaskCursor(now, 1L))), sort);
+                findPage(TaskSpecifications.matching(1L, query)
+                        .and(TaskSpecifications.after(sort, new TaskCursor(null, 1L))), sort);
+            }
+            findPage(TaskSpecifications.matching(1L,
+                    new TaskQuery(false, now, now.minusDays(7), "report", TaskSort.DUE_DATE_ASC)), TaskSort.DUE_DATE_ASC);
+        });
+    }
+
+    @Test
+    void fullTextSearchUsesIndexes() {
+        assertNoSeqScans(() -> {
+            taskRepository.search(1L, "quarterly report", null, null, 10);
+            taskRepository.search(1L, "quarterly report", 0.5f, 1L, 10);
+        });
+    }
+
+    @Test
+    void titleSuggestionsUseIndexes() {
+        assertNoSeqScans(() -> {
+            taskRepository.findTitlesStartingWith(1L, "rep", "req", 10);
+            taskRepository.findTitlesContaining(1L, "%rep%", "rep", "req", 40);
+        });
+    }
+
+    @Test
+    void changeFeedUsesIndexes() {
+        assertNoSeqScans(() -> {
+            taskRepository.findListVersion(1L);
+            taskRepository.findChanges(1L, 0, 0, false, 10);
+            taskRepository.findChanges(1L, 100, 5, true, 10);
+            taskRepository.purgeTombstones(LocalDateTime.now());
+        });
+    }
+
+    @Test
+    void exportStreamUsesPrimaryKey() {
+        assertNoSeqScans(() -> {
+            try (Stream<?> tasks = taskRepository.streamAllByOrderByIdAsc()) {
+                tasks.count();
+            }
+        });
+    }
+
+    @Test
+    void bulkOperationsUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        Long[] ids = {1L, 2L};
+
+        assertNoSeqScans(() -> {
+            taskRepository.completeByIds(ids, 1L, now);
+            taskRepository.shiftDueDateByIds(ids, 1L, Duration.ofMinutes(1), now);
+            taskRepository.deleteByIds(ids, 1L);
+            taskRepository.completeMatching(1L, false, now, now);
+            taskRepository.shiftDueDateMatching(1L, false, null, Duration.ofHours(1), now);
+            taskRepository.deleteMatching(1L, null, null);
+        });
+    }
+
+    @Test
+    void reminderQueriesUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        Long[] ids = {1L, 2L, 3L};
+
+        assertNoSeqScans(() -> {
+            taskRepository.findPendingReminders(now, 0, now.plusHours(1), 500);
+            taskRepository.findPendingReminders(ids);
+            taskRepository.claimReminders(ids, now.minusMinutes(5), now.plusMinutes(15), now);
+        });
+    }
+
+    @Test
+    void singleRowWritesUsePrimaryKey() {
+        assertNoSeqScans(() -> {
+            taskRepository.updateReturning(1L, "title", null, null, null, LocalDateTime.now());
+            taskRepository.updateReturning(1L, "title", null, null, 3L, LocalDateTime.now());
+            taskRepository.patchReturning(1L, Map.of("completed", true), 3L, LocalDateTime.now());
+            taskRepository.findVersionById(1L);
+            taskRepository.findOwnedByIds(new Long[]{1L, 2L, 3L}, 1L);
+            taskRepository.deleteReturningOwnerId(1L);
+        });
+    }
+
+    private void findPage(Specification<Task> specification, TaskSort sort) {
+        taskRepository.findBy(specification, query -> query.sortBy(sort.toSort()).limit(10).all());
+    }
+
+    private void assertNoSeqScans(Runnable repositoryCalls) {
+        RecordingStatementInspector.STATEMENTS.clear();
+        repositoryCalls.run();
+        List<String> statements = new ArrayList<>(RecordingStatementInspector.STATEMENTS);
+
+        assertFalse(statements.isEmpty(), "No SQL was recorded");
+        for (String sql : statements) {
+            // Prepare the statement with its parameters unbound and explain the generic plan, which is
+            // what a prepared statement ends up with no matter which values are passed in
+            int parameters = 0;
+            StringBuilder numbered = new StringBuilder();
+            for (char c : sql.toCharArray()) {
+                if (c == '?') {
+                    numbered.append('$').append(++parameters);
+                } else {
+                    numbered.append(c);
+                }
+            }
+            jdbcTemplate.execute("PREPARE plan_check AS " + numbered);
+            String plan = String.join("\n", jdbcTemplate.queryForList(
+                    "EXPLAIN EXECUTE plan_check" + nullArguments(parameters), String.class));
+            jdbcTemplate.execute("DEALLOCATE plan_check");
+            assertFalse(plan.contains("Seq Scan"), () -> "Sequential scan in plan of:\n" + sql + "\n" + plan);
+        }
+    }
+
+    private String nullArguments(int count) {
+        return count == 0 ? "" : "(" + String.join(", ", Collections.nCopies(count, "NULL")) + ")";
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
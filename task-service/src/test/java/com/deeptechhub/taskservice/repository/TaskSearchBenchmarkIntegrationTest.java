@@ -0,0 +1,108 @@
+package com.deeptechhub.taskservice.repository;
+
+import com.deeptechhub.taskservice.BaseIntegrationTest;
+import com.deeptechhub.taskservice.dto.TaskQuery;
+import com.deeptechhub.taskservice.dto.TaskSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Full-text search against a 1M row tasks table, with one large tenant owning a fifth of the rows.
+ * Compares the GIN-backed search with the substring filter of the task list and logs latency percentiles.
+ * Takes a few minutes, so it only runs on request:
+ * mvn -pl task-service -am test -Dtest=TaskSearchBenchmarkIntegrationTest -Dsurefire.failIfNoSpecifiedTests=false -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class TaskSearchBenchmarkIntegrationTest extends BaseIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchBenchmarkIntegrationTest.class);
+    private static final int ROWS = 1_000_000;
+    private static final long LARGE_TENANT = 1L;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void loadTasks() {
+        // Every fifth row belongs to the large tenant, the rest is spread over 1000 other users
+        jdbcTemplate.update("""
+                INSERT INTO tasks (id, title, description, due_date, completed, created_by_user_id, created_at)
+                SELECT n + 1000000000,
+                       (ARRAY['Prepare', 'Review', 'Write', 'Send', 'Plan'])[1 + n % 5] || ' ' ||
+                       (ARRAY['quarterly report', 'invoice', 'roadmap', 'release notes', 'budget',
+                              'onboarding guide', 'retrospective'])[1 + n % 7] || ' #' || n,
+                       'Follow up with ' || (ARRAY['finance', 'marketing', 'engineering', 'sales'])[1 + n % 4] ||
+                       ' about the ' || (ARRAY['audit', 'launch', 'migration', 'report', 'hiring', 'offsite'])[1 + n % 6],
+                       LOCALTIMESTAMP + (n % 90) * INTERVAL '1 day',
+                       n % 3 = 0,
+                       CASE WHEN n % 5 = 0 THEN ? ELSE 2 + n % 1000 END,
+                       LOCALTIMESTAMP - n * INTERVAL '1 second'
+                FROM generate_series(1, ?) AS n
+                """, LARGE_TENANT, ROWS);
+        jdbcTemplate.execute("ANALYZE tasks");
+    }
+
+    @Test
+    void searchLargeTenant() {
+        List<TaskSearchOperations.Hit> firstPage = taskRepository.search(LARGE_TENANT, "quarterly report", null, null, 50);
+        assertEquals(50, firstPage.size());
+        assertTrue(firstPage.stream().allMatch(hit -> hit.task().getCreatedByUserId() == LARGE_TENANT));
+        TaskSearchOperations.Hit last = firstPage.get(firstPage.size() - 1);
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("""
+                EXPLAIN SELECT id FROM tasks, websearch_to_tsquery('english', 'quarterly report') query
+                WHERE created_by_user_id = 1 AND search_vector @@ query
+                """, String.class));
+        log.info("Search plan:\n{}", plan);
+        assertTrue(plan.contains("gin_tasks_search_vector"), plan);
+
+        measure("full-text search, first page",
+                () -> taskRepository.search(LARGE_TENANT, "quarterly report", null, null, 50));
+        measure("full-text search, next page",
+                () -> taskRepository.search(LARGE_TENANT, "quarterly report", last.rank(), last.task().getId(), 50));
+        measure("full-text search, rare term",
+                () -> taskRepository.search(LARGE_TENANT, "retrospective offsite", null, null, 50));
+        measure("substring filter (q on the task list)",
+                () -> taskRepository.findBy(TaskSpecifications.matching(LARGE_TENANT,
+                                new TaskQuery(null, null, null, "quarterly report", TaskSort.CREATED_AT_DESC)),
+                        query -> query.sortBy(TaskSort.CREATED_AT_DESC.toSort()).limit(50).all()));
+    }
+
+    private void measure(String name, Supplier<List<?>> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+        }
+
+        long[] nanos = new long[ITERATIONS];
+        int results = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            results = query.get().size();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        log.info("{}: {} results, p50 {} ms, p95 {} ms, p99 {} ms", name, results,
+                millis(nanos[ITERATIONS / 2]), millis(nanos[ITERATIONS * 95 / 100]), millis(nanos[ITERATIONS * 99 / 100]));
+    }
+
+    private String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000d);
+    }
+}
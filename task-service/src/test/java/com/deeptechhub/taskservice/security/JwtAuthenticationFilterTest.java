@@ -0,0 +1,105 @@
+package com.deeptechhub.taskservice.security;
+
+import com.deeptechhub.common.dto.Role;
+import com.deeptechhub.common.dto.UserDto;
+import com.deeptechhub.common.security.VerifiedToken;
+import com.deeptechhub.taskservice.config.JwtProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class JwtAuthenticationFilterTest {
+    private static final String SECRET = "dGVzdC1zZWNyZXQtMTIzNDU2Nzg5MC1mb3ItdGVzdGluZy1vbmx5";
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+
+    @Mock
+    private UserLookupCache userLookupCache;
+
+    private final JwtProperties jwtProperties = new JwtProperties();
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        jwtProperties.setStatelessAuth(true);
+        filter = new JwtAuthenticationFilter(new JwtServiceImpl(SECRET), new UserDetailsMapper(),
+                userLookupCache, jwtProperties);
+    }
+
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testTokenWithUserClaimsAuthenticatesWithoutLookup() throws Exception {
+        authenticate(token(Map.of("uid", 7, "role", "ADMIN")));
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDto user = (UserDto) authentication.getDetails();
+        assertEquals(7L, user.getId());
+        assertEquals("john", user.getUsername());
+        assertEquals(Role.ADMIN.getAuthority(), authentication.getAuthorities().iterator().next().getAuthority());
+        assertEquals("john", ((VerifiedToken) authentication.getCredentials()).username());
+        verifyNoInteractions(userLookupCache);
+    }
+
+    @Test
+    public void testTokenWithoutUserClaimsFallsBackToLookup() throws Exception {
+        String token = token(Map.of());
+        when(userLookupCache.getUser("john", "Bearer " + token)).thenReturn(user());
+
+        authenticate(token);
+
+        assertEquals(7L, ((UserDto) SecurityContextHolder.getContext().getAuthentication().getDetails()).getId());
+    }
+
+    @Test
+    public void testClaimsAreIgnoredWhenStatelessAuthIsDisabled() throws Exception {
+        jwtProperties.setStatelessAuth(false);
+        when(userLookupCache.getUser(eq("john"), anyString())).thenReturn(user());
+
+        authenticate(token(Map.of("uid", 7, "role", "ADMIN")));
+
+        verify(userLookupCache).getUser(eq("john"), anyString());
+        assertEquals(Role.USER.getAuthority(),
+                SecurityContextHolder.getContext().getAuthentication().getAuthorities().iterator().next().getAuthority());
+    }
+
+    private void authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    private String token(Map<String, Object> claims) {
+        return Jwts.builder()
+                .claims(claims)
+                .subject("john")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(KEY)
+                .compact();
+    }
+
+    private UserDto user() {
+        return UserDto.builder().id(7L).username("john").role(Role.USER).build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.deeptechhub.taskservice.security;
+
+import com.deeptechhub.common.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a JWT: the filter used to parse and verify the token three times
+ * (subject, subject again in isTokenValid, then expiration), it now verifies it once into a VerifiedToken.
+ * Runs for about a minute, so it only runs on request:
+ * mvn -pl task-service -am test -Dtest=JwtVerificationBenchmark -Dsurefire.failIfNoSpecifiedTests=false -Dbenchmark=true
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    private static final String SECRET = "dGVzdC1zZWNyZXQtMTIzNDU2Nzg5MC1mb3ItdGVzdGluZy1vbmx5";
+
+    private JwtService jwtService;
+    private JwtParser jwtParser;
+    private String token;
+
+    @Setup
+    public void setup() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        jwtService = new JwtServiceImpl(SECRET);
+        jwtParser = Jwts.parser().verifyWith(key).build();
+        token = Jwts.builder()
+                .claims(Map.of("uid", 7, "role", "USER"))
+                .subject("john")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(key)
+                .compact();
+    }
+
+    @Benchmark
+    public boolean parsePerCheck() {
+        String username = claims().getSubject();
+        String subject = claims().getSubject();
+        return username.equals(subject) && !claims().getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean verifyOnce() {
+        VerifiedToken verifiedToken = jwtService.verify(token);
+        return verifiedToken.isValidFor(verifiedToken.username()) && verifiedToken.user().isPresent();
+    }
+
+    private Claims claims() {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void runBenchmark() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,186 @@
+package com.deeptechhub.taskservice.security;
+
+import com.deeptechhub.common.dto.UserDto;
+import com.deeptechhub.taskservice.client.IdentityServiceClient;
+import com.deeptechhub.taskservice.config.UserCacheProperties;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserLookupCacheTest {
+    private static final String BEARER = "Bearer token";
+
+    @Mock
+    private IdentityServiceClient identityServiceClient;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserCacheProperties properties = new UserCacheProperties();
+    private UserLookupCache userLookupCache;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        // Refresh on the calling thread so the tests can observe its outcome right away
+        userLookupCache = new UserLookupCache(identityServiceClient, properties, meterRegistry, Runnable::run);
+    }
+
+    @Test
+    public void testRepeatedLookupIsServedFromCache() {
+        when(identityServiceClient.getUserByUsername("alice", BEARER)).thenReturn(user("alice", 1L));
+
+        assertEquals(1L, userLookupCache.getUser("alice", BEARER).getId());
+        assertEquals(1L, userLookupCache.getUser("alice", BEARER).getId());
+
+        verify(identityServiceClient, times(1)).getUserByUsername("alice", BEARER);
+        assertEquals(1, gets("hit"));
+        assertEquals(1, gets("miss"));
+    }
+
+    @Test
+    public void testConcurrentMissesMakeOneCall() throws Exception {
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(identityServiceClient.getUserByUsername("alice", BEARER)).thenAnswer(invocation -> {
+            callStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return user("alice", 1L);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<UserDto>> lookups = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                lookups.add(executor.submit(() -> userLookupCache.getUser("alice", BEARER)));
+            }
+            assertTrue(callStarted.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100); // Let the other lookups pile up behind the first one
+            release.countDown();
+
+            for (Future<UserDto> lookup : lookups) {
+                assertEquals(1L, lookup.get(5, TimeUnit.SECONDS).getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(identityServiceClient, times(1)).getUserByUsername("alice", BEARER);
+    }
+
+    @Test
+    public void testLookupFailingWithErrorReleasesWaitingLookups() throws Exception {
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(identityServiceClient.getUserByUsername("alice", BEARER)).thenAnswer(invocation -> {
+            callStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw new StackOverflowError();
+        }).thenReturn(user("alice", 1L));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<UserDto>> lookups = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                lookups.add(executor.submit(() -> userLookupCache.getUser("alice", BEARER)));
+            }
+            assertTrue(callStarted.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100); // Let the other lookups pile up behind the first one
+            release.countDown();
+
+            for (Future<UserDto> lookup : lookups) {
+                ExecutionException failure = assertThrows(ExecutionException.class, () -> lookup.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(StackOverflowError.class, failure.getCause() instanceof CompletionException
+                        ? failure.getCause().getCause() : failure.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1L, userLookupCache.getUser("alice", BEARER).getId());
+    }
+
+    @Test
+    public void testOldEntryIsServedWhileBeingRefreshed() {
+        properties.setRefreshAfter(Duration.ZERO);
+        when(identityServiceClient.getUserByUsername("alice", BEARER))
+                .thenReturn(user("alice", 1L))
+                .thenReturn(user("alice", 2L));
+        userLookupCache.getUser("alice", BEARER);
+
+        assertEquals(1L, userLookupCache.getUser("alice", BEARER).getId());
+        assertEquals(2L, userLookupCache.getUser("alice", BEARER).getId());
+    }
+
+    @Test
+    public void testFailedRefreshKeepsServingCachedUser() {
+        properties.setRefreshAfter(Duration.ZERO);
+        when(identityServiceClient.getUserByUsername("alice", BEARER))
+                .thenReturn(user("alice", 1L))
+                .thenThrow(new RuntimeException("Read timed out"));
+        userLookupCache.getUser("alice", BEARER);
+
+        assertEquals(1L, userLookupCache.getUser("alice", BEARER).getId());
+        assertEquals(1L, userLookupCache.getUser("alice", BEARER).getId());
+        assertEquals(2, meterRegistry.counter("identity.users.refresh.failures").count());
+    }
+
+    @Test
+    public void testRefreshRejectedByIdentityServiceDropsCachedUser() {
+        properties.setRefreshAfter(Duration.ZERO);
+        when(identityServiceClient.getUserByUsername("alice", BEARER))
+                .thenReturn(user("alice", 1L))
+                .thenThrow(feignError(404));
+        userLookupCache.getUser("alice", BEARER);
+        userLookupCache.getUser("alice", BEARER);
+
+        assertThrows(FeignException.NotFound.class, () -> userLookupCache.getUser("alice", BEARER));
+    }
+
+    @Test
+    public void testFailedLookupIsNotCached() {
+        when(identityServiceClient.getUserByUsername("alice", BEARER))
+                .thenThrow(feignError(401))
+                .thenReturn(user("alice", 1L));
+
+        assertThrows(FeignException.Unauthorized.class, () -> userLookupCache.getUser("alice", BEARER));
+        assertEquals(1L, userLookupCache.getUser("alice", BEARER).getId());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tags("cache", UserLookupCache.CACHE_NAME, "result", result)
+                .functionCounter().count();
+    }
+
+    private FeignException feignError(int status) {
+        Request request = Request.create(Request.HttpMethod.GET, "/api/users/username/alice", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return FeignException.errorStatus("getUserByUsername",
+                Response.builder().status(status).reason("error").request(request).headers(Map.of()).build());
+    }
+
+    private UserDto user(String username, Long id) {
+        UserDto user = new UserDto();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+}
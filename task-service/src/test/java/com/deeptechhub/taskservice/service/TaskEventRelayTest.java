@@ -0,0 +1,151 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.taskservice.config.TaskOutboxProperties;
+import com.deeptechhub.taskservice.domain.TaskEvent;
+import com.deeptechhub.taskservice.domain.TaskEventType;
+import com.deeptechhub.taskservice.repository.TaskEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TaskEventRelayTest {
+
+    @Mock
+    private TaskEventRepository taskEventRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStreamCommands streamCommands;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskOutboxProperties properties = new TaskOutboxProperties();
+    private TaskEventRelay taskEventRelay;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(connection.streamCommands()).thenReturn(streamCommands);
+        // Run the pipelined callback against the mocked connection
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+        taskEventRelay = new TaskEventRelay(taskEventRepository, redisTemplate, properties, transactionManager,
+                meterRegistry);
+    }
+
+    @Test
+    public void testPublishesBatchInIdOrderAndDeletesIt() {
+        when(taskEventRepository.lockNextBatch(500)).thenReturn(List.of(
+                event(1L, 10L, TaskEventType.CREATED), event(2L, 11L, TaskEventType.CREATED),
+                event(3L, 10L, TaskEventType.DELETED)));
+        when(taskEventRepository.findTasksWithEarlierEvents(new Long[]{10L, 11L}, new Long[]{1L, 2L}))
+                .thenReturn(List.of());
+
+        taskEventRelay.relay();
+
+        assertEquals(List.of("1", "2", "3"), publishedEventIds());
+        verify(taskEventRepository).deleteByIds(new Long[]{1L, 2L, 3L});
+        verify(transactionManager).commit(any());
+        assertEquals(3, meterRegistry.counter("task.outbox.published").count());
+        assertEquals(3, meterRegistry.timer("task.outbox.lag").count());
+    }
+
+    @Test
+    public void testHoldsBackTasksWithOlderEventsClaimedElsewhere() {
+        when(taskEventRepository.lockNextBatch(500)).thenReturn(List.of(
+                event(5L, 10L, TaskEventType.UPDATED), event(6L, 11L, TaskEventType.UPDATED)));
+        when(taskEventRepository.findTasksWithEarlierEvents(any(), any())).thenReturn(List.of(10L));
+
+        taskEventRelay.relay();
+
+        assertEquals(List.of("6"), publishedEventIds());
+        verify(taskEventRepository).deleteByIds(new Long[]{6L});
+    }
+
+    @Test
+    public void testFailedPublishKeepsEventsForTheNextRun() {
+        when(taskEventRepository.lockNextBatch(500)).thenReturn(List.of(event(1L, 10L, TaskEventType.CREATED)));
+        when(taskEventRepository.findTasksWithEarlierEvents(any(), any())).thenReturn(List.of());
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        taskEventRelay.relay();
+
+        verify(taskEventRepository, never()).deleteByIds(any());
+        verify(transactionManager).rollback(any());
+        assertEquals(1, meterRegistry.counter("task.outbox.failures").count());
+        assertEquals(0, meterRegistry.counter("task.outbox.published").count());
+    }
+
+    @Test
+    public void testDrainsFullBatchesBackToBack() {
+        properties.setBatchSize(2);
+        when(taskEventRepository.lockNextBatch(2))
+                .thenReturn(List.of(event(1L, 10L, TaskEventType.CREATED), event(2L, 11L, TaskEventType.CREATED)))
+                .thenReturn(List.of(event(3L, 12L, TaskEventType.CREATED)));
+        when(taskEventRepository.findTasksWithEarlierEvents(any(), any())).thenReturn(List.of());
+        when(taskEventRepository.findOldestEventAgeSeconds()).thenReturn(1.5);
+
+        taskEventRelay.relay();
+
+        verify(taskEventRepository, times(2)).lockNextBatch(2);
+        assertEquals(List.of("1", "2", "3"), publishedEventIds());
+        assertEquals(1.5, meterRegistry.get("task.outbox.oldest.age").gauge().value());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> publishedEventIds() {
+        ArgumentCaptor<MapRecord<byte[], byte[], byte[]>> records = ArgumentCaptor.forClass(MapRecord.class);
+        verify(streamCommands, atLeast(0)).xAdd(records.capture(), any(RedisStreamCommands.XAddOptions.class));
+        return records.getAllValues().stream()
+                .map(record -> field(record.getValue(), "eventId"))
+                .toList();
+    }
+
+    private String field(Map<byte[], byte[]> fields, String name) {
+        return fields.entrySet().stream()
+                .filter(entry -> new String(entry.getKey(), StandardCharsets.UTF_8).equals(name))
+                .map(entry -> new String(entry.getValue(), StandardCharsets.UTF_8))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private TaskEvent event(Long id, Long taskId, TaskEventType type) {
+        TaskEvent event = new TaskEvent();
+        event.setId(id);
+        event.setTaskId(taskId);
+        event.setUserId(7L);
+        event.setType(type);
+        event.setPayload(type == TaskEventType.DELETED ? null : "{\"id\":" + taskId + "}");
+        event.setCreatedAt(LocalDateTime.now().minusSeconds(1));
+        return event;
+    }
+}
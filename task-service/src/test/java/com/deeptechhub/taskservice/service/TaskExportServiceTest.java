@@ -0,0 +1,82 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.taskservice.domain.Task;
+import com.deeptechhub.taskservice.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TaskExportServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private UsernameCache usernameCache;
+
+    private TaskExportService taskExportService;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        taskExportService = new TaskExportService(taskRepository, entityManager, objectMapper, usernameCache);
+    }
+
+    @Test
+    public void testExportWritesOneJsonLinePerTask() throws Exception {
+        Task first = task(1L, "First");
+        Task second = task(2L, "Second");
+        when(taskRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(first, second));
+        when(usernameCache.getUsernames(List.of(1L, 1L))).thenReturn(Map.of(1L, "john"));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long count = taskExportService.exportAllTasks(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"title\":\"First\""));
+        assertTrue(lines[1].contains("\"title\":\"Second\""));
+        assertTrue(lines[0].contains("\"createdBy\":\"john\""));
+        verify(usernameCache, times(1)).getUsernames(any());
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    public void testExportWithNoTasksWritesNothing() throws Exception {
+        when(taskRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        assertEquals(0, taskExportService.exportAllTasks(outputStream));
+        assertEquals(0, outputStream.size());
+    }
+
+    private Task task(Long id, String title) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setCreatedByUserId(1L);
+        task.setDueDate(LocalDateTime.now().plusDays(1));
+        return task;
+    }
+}
@@ -0,0 +1,137 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.taskservice.config.TaskListCacheProperties;
+import com.deeptechhub.taskservice.dto.CursorPage;
+import com.deeptechhub.taskservice.dto.TaskResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class TaskListCacheTest {
+    private static final String VERSION_KEY = "tasks:list:1:version";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final TaskListCacheProperties properties = new TaskListCacheProperties();
+    private final CursorPage<TaskResponse> page = new CursorPage<>(
+            List.of(new TaskResponse(1L, "Title", "Description", "1", LocalDateTime.of(2030, 1, 1, 9, 0), false, 0L)),
+            "cursor");
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<CursorPage<TaskResponse>> loader = () -> {
+        loads.incrementAndGet();
+        return page;
+    };
+
+    private TaskListCache taskListCache;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(VERSION_KEY)).thenReturn("3");
+        taskListCache = new TaskListCache(redisTemplate, objectMapper, properties);
+    }
+
+    @AfterEach
+    public void clearSynchronization() {
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testMissLoadsPageAndStoresItUnderCurrentVersion() {
+        assertEquals(page, taskListCache.get(1L, "query", loader));
+
+        assertEquals(1, loads.get());
+        verify(valueOperations).set(startsWith("tasks:list:1:3:"), anyString(), eq(Duration.ofMinutes(5)));
+    }
+
+    @Test
+    public void testRepeatedReadIsServedFromNearCache() {
+        taskListCache.get(1L, "query", loader);
+        taskListCache.get(1L, "query", loader);
+
+        assertEquals(1, loads.get());
+        verify(valueOperations, times(2)).get(VERSION_KEY);
+        verify(valueOperations, times(1)).get(startsWith("tasks:list:1:3:"));
+    }
+
+    @Test
+    public void testPageCachedByAnotherReplicaIsReadFromRedis() throws Exception {
+        when(valueOperations.get(startsWith("tasks:list:1:3:"))).thenReturn(objectMapper.writeValueAsString(page));
+
+        assertEquals(page, taskListCache.get(1L, "query", loader));
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    public void testNewVersionMissesPagesCachedBeforeTheWrite() {
+        taskListCache.get(1L, "query", loader);
+        when(valueOperations.get(VERSION_KEY)).thenReturn("4");
+
+        taskListCache.get(1L, "query", loader);
+
+        assertEquals(2, loads.get());
+        verify(valueOperations).set(startsWith("tasks:list:1:4:"), anyString(), any(Duration.class));
+    }
+
+    @Test
+    public void testInvalidateBumpsVersion() {
+        taskListCache.invalidate(1L);
+        verify(valueOperations).increment(VERSION_KEY);
+    }
+
+    @Test
+    public void testInvalidateInsideTransactionWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        taskListCache.invalidate(1L);
+        verify(valueOperations, never()).increment(anyString());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(valueOperations).increment(VERSION_KEY);
+    }
+
+    @Test
+    public void testUnavailableRedisFallsBackToLoader() {
+        when(valueOperations.get(VERSION_KEY)).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertEquals(page, taskListCache.get(1L, "query", loader));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testDisabledCacheDoesNotTouchRedis() {
+        properties.setEnabled(false);
+
+        taskListCache.get(1L, "query", loader);
+        taskListCache.invalidate(1L);
+
+        assertEquals(1, loads.get());
+        verifyNoInteractions(redisTemplate);
+    }
+}
@@ -0,0 +1,266 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.taskservice.config.TaskReminderProperties;
+import com.deeptechhub.taskservice.domain.Task;
+import com.deeptechhub.taskservice.repository.TaskReminderOperations.PendingReminder;
+import com.deeptechhub.taskservice.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TaskReminderSchedulerTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskEventOutbox taskEventOutbox;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskReminderProperties properties = new TaskReminderProperties();
+    private final MutableClock clock = new MutableClock(START);
+    private TaskReminderScheduler scheduler;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        scheduler = new TaskReminderScheduler(taskRepository, taskEventOutbox, properties, transactionManager,
+                meterRegistry, clock);
+    }
+
+    @Test
+    public void testEveryLoadRescansTheWholeWindow() {
+        properties.setBatchSize(2);
+        LocalDateTime until = START.plusMinutes(15).plusHours(1);
+        when(taskRepository.findPendingReminders(START.minusMinutes(5), 0, until, 2))
+                .thenReturn(List.of(pending(1L, 30), pending(2L, 40)));
+        when(taskRepository.findPendingReminders(START.plusMinutes(40), 2L, until, 2))
+                .thenReturn(List.of(pending(3L, 50)));
+
+        scheduler.load();
+        clock.advance(Duration.ofMinutes(1));
+        scheduler.load();
+
+        assertEquals(3, scheduler.pendingCount());
+        verify(taskRepository).findPendingReminders(START.minusMinutes(4), 0, until.plusMinutes(1), 2);
+    }
+
+    @Test
+    public void testStopsLoadingAtMaxPending() {
+        properties.setMaxPending(2);
+        when(taskRepository.findPendingReminders(any(), anyLong(), any(), eq(2)))
+                .thenReturn(List.of(pending(1L, 30), pending(2L, 40)));
+
+        scheduler.load();
+        scheduler.load();
+
+        assertEquals(2, scheduler.pendingCount());
+        verify(taskRepository, times(2)).findPendingReminders(any(), anyLong(), any(), anyInt());
+    }
+
+    @Test
+    public void testTasksWrittenOnAnotherReplicaAreLoadedBeforeTheLastLoadPosition() {
+        List<PendingReminder> pendingReminders = new ArrayList<>();
+        TaskRepository sharedRepository = sharedRepository(pendingReminders);
+        TaskReminderScheduler writer = new TaskReminderScheduler(sharedRepository, taskEventOutbox, properties,
+                transactionManager, new SimpleMeterRegistry(), clock);
+        TaskReminderScheduler survivor = new TaskReminderScheduler(sharedRepository, taskEventOutbox, properties,
+                transactionManager, new SimpleMeterRegistry(), clock);
+        pendingReminders.add(pending(1L, 60));
+        writer.load();
+        survivor.load();
+
+        // Created on the writer after both loads, due before where they stopped
+        Task task = task(2L, 30);
+        pendingReminders.add(pending(2L, 30));
+        writer.taskSaved(task);
+        assertEquals(2, writer.pendingCount());
+        assertEquals(1, survivor.pendingCount());
+
+        // The writer goes away; the survivor's next load still finds the task
+        clock.advance(properties.getLoadInterval());
+        survivor.load();
+        assertEquals(2, survivor.pendingCount());
+
+        when(sharedRepository.claimReminders(eq(new Long[]{2L}), any(), any(), any())).thenReturn(List.of(2L));
+        when(sharedRepository.findAllById(List.of(2L))).thenReturn(List.of(task));
+        clock.advance(Duration.ofMinutes(14));
+        survivor.tick();
+        verify(taskEventOutbox).recordReminders(List.of(task));
+    }
+
+    @Test
+    public void testSendsReminderLeadTimeBeforeDueDate() {
+        loadNothing();
+        Task task = task(1L, 30);
+        scheduler.taskSaved(task);
+        when(taskRepository.claimReminders(new Long[]{1L}, START.plusMinutes(10), START.plusMinutes(30),
+                START.plusMinutes(15))).thenReturn(List.of(1L));
+        when(taskRepository.findAllById(List.of(1L))).thenReturn(List.of(task));
+
+        clock.advance(Duration.ofMinutes(15).minusSeconds(1));
+        scheduler.tick();
+        verify(taskRepository, never()).claimReminders(any(), any(), any(), any());
+
+        clock.advance(Duration.ofSeconds(1));
+        scheduler.tick();
+        verify(taskEventOutbox).recordReminders(List.of(task));
+        assertEquals(1, meterRegistry.counter("task.reminders.sent").count());
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    public void testCompletedOrRemovedTasksAreCancelled() {
+        loadNothing();
+        scheduler.taskSaved(task(1L, 30));
+        scheduler.taskSaved(task(2L, 30));
+        Task completed = task(1L, 30);
+        completed.setCompleted(true);
+
+        scheduler.taskSaved(completed);
+        scheduler.tasksRemoved(List.of(2L));
+
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    public void testTasksBeyondTheLoadedRangeAreLeftToTheLoader() {
+        loadNothing();
+
+        scheduler.taskSaved(task(1L, 24 * 60));
+
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    public void testReschedulesTimersOfTasksMovedLater() {
+        loadNothing();
+        scheduler.taskSaved(task(1L, 20));
+        when(taskRepository.claimReminders(any(), any(), any(), any())).thenReturn(List.of());
+        when(taskRepository.findPendingReminders(new Long[]{1L})).thenReturn(List.of(pending(1L, 50)));
+
+        clock.advance(Duration.ofMinutes(5));
+        scheduler.tick();
+
+        assertEquals(1, scheduler.pendingCount());
+        verify(taskEventOutbox, never()).recordReminders(any());
+    }
+
+    @Test
+    public void testRetriesWhenSendingFails() {
+        loadNothing();
+        scheduler.taskSaved(task(1L, 15));
+        when(taskRepository.claimReminders(any(), any(), any(), any()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of(1L));
+
+        clock.advance(Duration.ofSeconds(1)); // Already due, so it fires on the next tick
+        scheduler.tick();
+        assertEquals(1, scheduler.pendingCount());
+        assertEquals(1, meterRegistry.counter("task.reminders.failures").count());
+
+        clock.advance(Duration.ofSeconds(5));
+        scheduler.tick();
+        assertEquals(0, scheduler.pendingCount());
+        assertEquals(1, meterRegistry.counter("task.reminders.sent").count());
+    }
+
+    @Test
+    public void testDoesNothingWhenDisabled() {
+        properties.setEnabled(false);
+
+        scheduler.load();
+        scheduler.tick();
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    // Answers findPendingReminders from the list, as the database would for every replica
+    private static TaskRepository sharedRepository(List<PendingReminder> pendingReminders) {
+        TaskRepository repository = mock(TaskRepository.class);
+        when(repository.findPendingReminders(any(LocalDateTime.class), anyLong(), any(LocalDateTime.class), anyInt()))
+                .thenAnswer(invocation -> {
+                    LocalDateTime afterDueDate = invocation.getArgument(0);
+                    long afterId = invocation.getArgument(1);
+                    LocalDateTime until = invocation.getArgument(2);
+                    int limit = invocation.getArgument(3);
+                    return pendingReminders.stream()
+                            .filter(reminder -> reminder.dueDate().isAfter(afterDueDate)
+                                    || reminder.dueDate().equals(afterDueDate) && reminder.taskId() > afterId)
+                            .filter(reminder -> !reminder.dueDate().isAfter(until))
+                            .sorted(Comparator.comparing(PendingReminder::dueDate).thenComparing(PendingReminder::taskId))
+                            .limit(limit)
+                            .toList();
+                });
+        return repository;
+    }
+
+    private void loadNothing() {
+        when(taskRepository.findPendingReminders(any(), anyLong(), any(), anyInt())).thenReturn(List.of());
+        scheduler.load();
+    }
+
+    private static PendingReminder pending(Long taskId, int dueInMinutes) {
+        return new PendingReminder(taskId, START.plusMinutes(dueInMinutes));
+    }
+
+    private static Task task(Long id, int dueInMinutes) {
+        Task task = new Task();
+        task.setId(id);
+        task.setDueDate(START.plusMinutes(dueInMinutes));
+        return task;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(LocalDateTime start) {
+            this.now = start.toInstant(ZoneOffset.UTC);
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.common.dto.UserDto;
+import com.deeptechhub.common.exception.ResourceNotFoundException;
+import com.deeptechhub.taskservice.config.CacheConfig;
+import com.deeptechhub.taskservice.config.TaskCacheProperties;
+import com.deeptechhub.taskservice.config.TaskChangesProperties;
+import com.deeptechhub.taskservice.domain.Task;
+import com.deeptechhub.taskservice.dto.TaskBulkAction;
+import com.deeptechhub.taskservice.dto.TaskBulkRequest;
+import com.deeptechhub.taskservice.dto.TaskRequest;
+import com.deeptechhub.taskservice.repository.TaskRepository;
+import com.deeptechhub.taskservice.security.SecurityHelper;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Caching of single-task lookups, wired through the Spring cache proxy around TaskService.
+ */
+@SpringJUnitConfig({CacheConfig.class, TaskCacheProperties.class, TaskChangesProperties.class, TaskService.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TaskServiceCachingTest {
+
+    @MockitoBean
+    private TaskRepository taskRepository;
+
+    @MockitoBean
+    private SecurityHelper securityHelper;
+
+    @MockitoBean
+    private TaskSuggestionService taskSuggestionService;
+
+    @MockitoBean
+    private TaskListCache taskListCache;
+
+    @MockitoBean
+    private UsernameCache usernameCache;
+
+    @MockitoBean
+    private TaskEventOutbox taskEventOutbox;
+
+    @MockitoBean
+    private TaskReminderScheduler taskReminderScheduler;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Task task;
+
+    @BeforeEach
+    public void setup() {
+        task = new Task();
+        task.setId(1L);
+        task.setTitle("Title");
+        task.setCreatedByUserId(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        UserDto user = new UserDto();
+        user.setId(1L);
+        when(securityHelper.getCurrentUser()).thenReturn(user);
+    }
+
+    @Test
+    public void testRepeatedGetTaskIsServedFromCache() {
+        assertEquals("Title", taskService.getTask(1L).title());
+        assertEquals("Title", taskService.getTask(1L).title());
+
+        verify(taskRepository, times(1)).findById(1L);
+        CacheStats stats = stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+
+    @Test
+    public void testMissingTaskIsNotCached() {
+        when(taskRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTask(2L));
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTask(2L));
+
+        verify(taskRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    public void testUpdateTaskEvictsCachedTask() {
+        Task updated = new Task();
+        updated.setId(1L);
+        updated.setTitle("New");
+        updated.setCreatedByUserId(1L);
+        when(taskRepository.updateReturning(eq(1L), eq("New"), isNull(), isNull(), isNull(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(updated));
+        taskService.getTask(1L);
+
+        taskService.updateTask(1L, new TaskRequest("New", null, null), null);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(updated));
+
+        assertEquals("New", taskService.getTask(1L).title());
+        verify(taskRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    public void testDeleteTaskEvictsCachedTask() {
+        when(taskRepository.deleteReturningOwnerId(1L)).thenReturn(Optional.of(1L));
+        taskService.getTask(1L);
+
+        taskService.deleteTask(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTask(1L));
+    }
+
+    @Test
+    public void testBulkUpdateClearsCache() {
+        when(taskRepository.completeByIds(any(Long[].class), eq(1L), any(LocalDateTime.class))).thenReturn(List.of(task));
+        taskService.getTask(1L);
+
+        taskService.bulkUpdateTasks(new TaskBulkRequest(TaskBulkAction.COMPLETE, List.of(1L), null, null));
+        taskService.getTask(1L);
+
+        verify(taskRepository, times(2)).findById(1L);
+    }
+
+    private CacheStats stats() {
+        TransactionAwareCacheDecorator cache = (TransactionAwareCacheDecorator) cacheManager.getCache(CacheConfig.TASKS);
+        return ((CaffeineCache) cache.getTargetCache()).getNativeCache().stats();
+    }
+}
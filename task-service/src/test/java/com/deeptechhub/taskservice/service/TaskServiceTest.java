@@ -2,19 +2,50 @@ package com.deeptechhub.taskservice.service;
 
 import com.deeptechhub.common.dto.UserDto;
 import com.deeptechhub.common.exception.ResourceNotFoundException;
+import com.deeptechhub.taskservice.config.TaskChangesProperties;
 import com.deeptechhub.taskservice.domain.Task;
+import com.deeptechhub.taskservice.dto.CursorPage;
+import com.deeptechhub.taskservice.dto.TaskBatchResponse;
+import com.deeptechhub.taskservice.dto.TaskBulkAction;
+import com.deeptechhub.taskservice.dto.TaskBulkFilter;
+import com.deeptechhub.taskservice.dto.TaskBulkRequest;
+import com.deeptechhub.taskservice.dto.TaskBulkResponse;
+import com.deeptechhub.taskservice.dto.TaskChangeToken;
+import com.deeptechhub.taskservice.dto.TaskChangesResponse;
+import com.deeptechhub.taskservice.dto.TaskCursor;
+import com.deeptechhub.taskservice.dto.TaskMergePatch;
+import com.deeptechhub.taskservice.dto.TaskMultiGetResponse;
+import com.deeptechhub.taskservice.dto.TaskQuery;
 import com.deeptechhub.taskservice.dto.TaskRequest;
 import com.deeptechhub.taskservice.dto.TaskResponse;
+import com.deeptechhub.taskservice.dto.TaskSearchCursor;
+import com.deeptechhub.taskservice.dto.TaskSort;
+import com.deeptechhub.taskservice.repository.TaskChangeOperations.Change;
 import com.deeptechhub.taskservice.repository.TaskRepository;
+import com.deeptechhub.taskservice.repository.TaskSearchOperations;
 import com.deeptechhub.taskservice.security.SecurityHelper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor.SpecificationFluentQuery;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,12 +58,33 @@ public class TaskServiceTest {
     @Mock
     private SecurityHelper securityHelper;
 
+    @Mock
+    private TaskSuggestionService taskSuggestionService;
+
+    @Mock
+    private TaskListCache taskListCache;
+
+    @Mock
+    private UsernameCache usernameCache;
+
+    @Mock
+    private TaskEventOutbox taskEventOutbox;
+
+    @Mock
+    private TaskReminderScheduler taskReminderScheduler;
+
+    @Spy
+    private TaskChangesProperties taskChangesProperties = new TaskChangesProperties();
+
     @InjectMocks
     private TaskService taskService;
 
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
+        // Behave like an empty cache: every page is loaded from the repository
+        when(taskListCache.get(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
     }
 
     @Test
@@ -55,13 +107,180 @@ public class TaskServiceTest {
         mockUserDto.setId(1L);
 
         when(securityHelper.getCurrentUser()).thenReturn(mockUserDto);
-        when(taskRepository.save(any(Task.class))).thenReturn(savedTask);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(savedTask);
 
         TaskResponse response = taskService.createTask(request);
 
         assertNotNull(response);
         assertEquals("Title", response.title());
         assertEquals("Description", response.description());
+        verify(taskSuggestionService).evict(mockUserDto.getId());
+        verify(taskListCache).invalidate(mockUserDto.getId());
+        verify(taskEventOutbox).recordCreated(List.of(savedTask));
+        verify(taskReminderScheduler).taskSaved(savedTask);
+    }
+
+    @Test
+    public void testCreateTasksSavesAllInOneCall() {
+        UserDto user = new UserDto();
+        user.setId(7L);
+        when(securityHelper.getCurrentUser()).thenReturn(user);
+        when(taskRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            long id = 100;
+            for (Task task : tasks) {
+                task.setId(id++);
+            }
+            return tasks;
+        });
+
+        List<TaskRequest> requests = List.of(
+                new TaskRequest("First", "Desc", LocalDateTime.now().plusDays(1)),
+                new TaskRequest("Second", null, null));
+
+        TaskBatchResponse response = taskService.createTasks(requests);
+
+        assertEquals(2, response.created());
+        assertEquals(List.of(100L, 101L), response.ids());
+        assertTrue(response.rowsPerSecond() > 0);
+        verify(taskRepository, times(1)).saveAllAndFlush(argThat((List<Task> tasks) ->
+                tasks.size() == 2 && tasks.stream().allMatch(task -> task.getCreatedByUserId() == 7L)));
+        verify(taskEventOutbox).recordCreated(argThat((List<Task> tasks) -> tasks.size() == 2));
+    }
+
+    @Test
+    public void testGetUserTasksReturnsNextCursorWhenMoreRowsExist() {
+        UserDto user = new UserDto();
+        user.setId(1L);
+        when(securityHelper.getCurrentUser()).thenReturn(user);
+
+        Task newest = taskCreatedAt(3L, LocalDateTime.of(2025, 1, 3, 10, 0));
+        Task middle = taskCreatedAt(2L, LocalDateTime.of(2025, 1, 2, 10, 0));
+        Task oldest = taskCreatedAt(1L, LocalDateTime.of(2025, 1, 1, 10, 0));
+        SpecificationFluentQuery<Task> fluentQuery = stubFindBy(List.of(newest, middle, oldest));
+
+        CursorPage<TaskResponse> page = taskService.getUserTasks("user", TaskQuery.unfiltered(), 2, null, "7-2");
+
+        assertEquals(2, page.items().size());
+        assertEquals(3L, page.items().get(0).id());
+        assertEquals(new TaskCursor(middle.getCreatedAt(), 2L), TaskCursor.decode(page.nextCursor()));
+        verify(fluentQuery).sortBy(TaskSort.CREATED_AT_DESC.toSort());
+        verify(fluentQuery).limit(3);
+    }
+
+    @Test
+    public void testGetUserTasksAfterCursor() {
+        UserDto user = new UserDto();
+        user.setId(1L);
+        when(securityHelper.getCurrentUser()).thenReturn(user);
+
+        TaskCursor cursor = new TaskCursor(LocalDateTime.of(2025, 1, 2, 10, 0), 2L);
+        Task oldest = taskCreatedAt(1L, LocalDateTime.of(2025, 1, 1, 10, 0));
+        stubFindBy(List.of(oldest));
+
+        CursorPage<TaskResponse> page = taskService.getUserTasks("user", TaskQuery.unfiltered(), 2, cursor.encode(), "7-2");
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    public void testGetUserTasksSortedByDueDateUsesDueDateCursor() {
+        UserDto user = new UserDto();
+        user.setId(1L);
+        when(securityHelper.getCurrentUser()).thenReturn(user);
+
+        Task dueSoon = taskCreatedAt(5L, LocalDateTime.of(2025, 1, 1, 10, 0));
+        dueSoon.setDueDate(LocalDateTime.of(2025, 3, 1, 9, 0));
+        Task noDueDate = taskCreatedAt(6L, LocalDateTime.of(2025, 1, 2, 10, 0));
+        SpecificationFluentQuery<Task> fluentQuery = stubFindBy(List.of(dueSoon, noDueDate));
+        TaskQuery query = new TaskQuery(false, null, null, "report", TaskSort.DUE_DATE_ASC);
+
+        CursorPage<TaskResponse> page = taskService.getUserTasks("user", query, 1, null, "7-2");
+
+        assertEquals(new TaskCursor(dueSoon.getDueDate(), 5L), TaskCursor.decode(page.nextCursor()));
+        verify(fluentQuery).sortBy(TaskSort.DUE_DATE_ASC.toSort());
+    }
+
+    @Test
+    public void testGetUserTasksWithInvalidCursor() {
+        UserDto user = new UserDto();
+        user.setId(1L);
+        when(securityHelper.getCurrentUser()).thenReturn(user);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getUserTasks("user", TaskQuery.unfiltered(), 10, "garbage", "7-2"));
+        verify(taskRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    public void testSearchTasksReturnsRankCursor() {
+        UserDto user = new UserDto();
+        user.setId(1L);
+        when(securityHelper.getCurrentUser()).thenReturn(user);
+        Task best = taskCreatedAt(4L, LocalDateTime.of(2025, 1, 1, 10, 0));
+        Task second = taskCreatedAt(9L, LocalDateTime.of(2025, 1, 2, 10, 0));
+        Task third = taskCreatedAt(2L, LocalDateTime.of(2025, 1, 3, 10, 0));
+        when(taskRepository.search(1L, "report", null, null, 3)).thenReturn(List.of(
+                new TaskSearchOperations.Hit(best, 0.6f),
+                new TaskSearchOperations.Hit(second, 0.24f),
+                new TaskSearchOperations.Hit(third, 0.24f)));
+
+        CursorPage<TaskResponse> page = taskService.searchTasks("report", 2, null);
+
+        assertEquals(List.of(4L, 9L), page.items().stream().map(TaskResponse::id).toList());
+        assertEquals(new TaskSearchCursor(0.24f, 9L), TaskSearchCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    public void testSearchTasksAfterCursor() {
+        UserDto user = new UserDto();
+        user.setId(1L);
+        when(securityHelper.getCurrentUser()).thenReturn(user);
+        when(taskRepository.search(1L, "report", 0.24f, 9L, 3)).thenReturn(List.of());
+
+        CursorPage<TaskResponse> page = taskService.searchTasks("report", 2, new TaskSearchCursor(0.24f, 9L).encode());
+
+        assertTrue(page.items().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    public void testSearchTasksRequiresQuery() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks(" ", 10, null));
+        verify(taskRepository, never()).search(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    public void testGetAllTasksResolvesAllCreatorsOfThePageAtOnce() {
+        Task first = taskCreatedAt(3L, LocalDateTime.of(2025, 1, 3, 10, 0));
+        first.setCreatedByUserId(1L);
+        Task second = taskCreatedAt(2L, LocalDateTime.of(2025, 1, 2, 10, 0));
+        second.setCreatedByUserId(2L);
+        Task third = taskCreatedAt(1L, LocalDateTime.of(2025, 1, 1, 10, 0));
+        third.setCreatedByUserId(1L);
+        when(taskRepository.findAllByOrderByCreatedAtDescIdDesc(any(Limit.class))).thenReturn(List.of(first, second, third));
+        when(usernameCache.getUsernames(List.of(1L, 2L, 1L))).thenReturn(Map.of(1L, "john"));
+
+        CursorPage<TaskResponse> page = taskService.getAllTasks(10, null);
+
+        // Creators identity-service could not resolve are shown by id
+        assertEquals(List.of("john", "2", "john"), page.items().stream().map(TaskResponse::createdBy).toList());
+        verify(usernameCache, times(1)).getUsernames(any());
+    }
+
+    @Test
+    public void testGetAllTasksClampsPageSize() {
+        when(taskRepository.findAllByOrderByCreatedAtDescIdDesc(any(Limit.class))).thenReturn(List.of());
+
+        taskService.getAllTasks(100_000, null);
+
+        verify(taskRepository).findAllByOrderByCreatedAtDescIdDesc(Limit.of(501));
+    }
+
+    @Test
+    public void testGetAllTasksWithInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getAllTasks(10, "garbage"));
     }
 
     @Test
@@ -88,43 +307,431 @@ public class TaskServiceTest {
 
     @Test
     public void testDeleteTask() {
-        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.deleteReturningOwnerId(1L)).thenReturn(Optional.of(7L));
         taskService.deleteTask(1L);
-        verify(taskRepository).deleteById(1L);
+        verify(taskRepository).deleteReturningOwnerId(1L);
+        verify(taskRepository, never()).existsById(anyLong());
+        verify(taskListCache).invalidate(7L);
+        verify(taskEventOutbox).recordDeleted(1L, 7L);
+        verify(taskReminderScheduler).tasksRemoved(List.of(1L));
+        verify(taskSuggestionService).evict(7L);
     }
 
     @Test
     public void testDeleteTaskNotFound() {
-        when(taskRepository.existsById(1L)).thenReturn(false);
+        when(taskRepository.deleteReturningOwnerId(1L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> taskService.deleteTask(1L));
+        verify(taskListCache, never()).invalidate(any());
+        verify(taskEventOutbox, never()).recordDeleted(any(), any());
     }
 
     @Test
-    public void testUpdateTask() {
-        Task existing = new Task();
-        existing.setId(1L);
-        existing.setTitle("Old");
-        existing.setDescription("Old Desc");
+    public void testBulkCompleteByIds() {
+        UserDto user = new UserDto();
+        user.setId(1L);
+        when(securityHelper.getCurrentUser()).thenReturn(user);
+        List<Task> completed = ownedTasks(1L, 2L);
+        when(taskRepository.completeByIds(eq(new Long[]{1L, 2L, 3L}), eq(1L), any(LocalDateTime.class)))
+                .thenReturn(completed);
+
+        TaskBulkResponse response = taskService.bulkUpdateTasks(
+                new TaskBulkRequest(TaskBulkAction.COMPLETE, List.of(1L, 2L, 3L), null, null));
+
+        assertEquals(TaskBulkAction.COMPLETE, response.action());
+        assertEquals(2, response.affected());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskEventOutbox).recordUpdated(completed);
+        verify(taskReminderScheduler).tasksRemoved(List.of(1L, 2L));
+    }
+
+    @Test
+    public void testBulkShiftDueDateByFilter() {
+        UserDto user = new UserDto();
+        user.setId(1L);
+        when(securityHelper.getCurrentUser()).thenReturn(user);
+        LocalDateTime dueBefore = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Task> shifted = ownedTasks(1L, 2L, 3L, 4L, 5L);
+        when(taskRepository.shiftDueDateMatching(eq(1L), eq(false), eq(dueBefore), eq(Duration.ofDays(1)),
+                any(LocalDateTime.class))).thenReturn(shifted);
+
+        TaskBulkResponse response = taskService.bulkUpdateTasks(new TaskBulkRequest(TaskBulkAction.SHIFT_DUE_DATE,
+                null, new TaskBulkFilter(false, dueBefore), Duration.ofDays(1)));
+
+        assertEquals(5, response.affected());
+        verify(taskEventOutbox).recordUpdated(shifted);
+        shifted.forEach(task -> verify(taskReminderScheduler).taskSaved(task));
+        verify(taskReminderScheduler, never()).tasksRemoved(any());
+    }
 
+    @Test
+    public void testBulkDeleteByIds() {
+        UserDto user = new UserDto();
+        user.setId(1L);
+        when(securityHelper.getCurrentUser()).thenReturn(user);
+        List<Task> deleted = ownedTasks(4L);
+        when(taskRepository.deleteByIds(new Long[]{4L}, 1L)).thenReturn(deleted);
+
+        TaskBulkResponse response = taskService.bulkUpdateTasks(
+                new TaskBulkRequest(TaskBulkAction.DELETE, List.of(4L), null, null));
+
+        assertEquals(1, response.affected());
+        verify(taskEventOutbox).recordDeleted(deleted);
+        verify(taskEventOutbox, never()).recordUpdated(anyList());
+        verify(taskReminderScheduler).tasksRemoved(List.of(4L));
+    }
+
+    @Test
+    public void testBulkUpdatesByFilterRecordEvents() {
+        UserDto user = new UserDto();
+        user.setId(1L);
+        when(securityHelper.getCurrentUser()).thenReturn(user);
+        List<Task> completed = ownedTasks(1L, 2L);
+        List<Task> deleted = ownedTasks(3L);
+        when(taskRepository.completeMatching(eq(1L), eq(null), eq(null), any(LocalDateTime.class)))
+                .thenReturn(completed);
+        when(taskRepository.deleteMatching(1L, true, null)).thenReturn(deleted);
+
+        taskService.bulkUpdateTasks(new TaskBulkRequest(TaskBulkAction.COMPLETE, null,
+                new TaskBulkFilter(null, null), null));
+        taskService.bulkUpdateTasks(new TaskBulkRequest(TaskBulkAction.DELETE, null,
+                new TaskBulkFilter(true, null), null));
+
+        verify(taskEventOutbox).recordUpdated(completed);
+        verify(taskEventOutbox).recordDeleted(deleted);
+        verify(taskReminderScheduler).tasksRemoved(List.of(1L, 2L));
+        verify(taskReminderScheduler).tasksRemoved(List.of(3L));
+    }
+
+    @Test
+    public void testBulkUpdateRequiresExactlyOneSelector() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.bulkUpdateTasks(
+                new TaskBulkRequest(TaskBulkAction.COMPLETE, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> taskService.bulkUpdateTasks(
+                new TaskBulkRequest(TaskBulkAction.COMPLETE, List.of(1L), new TaskBulkFilter(null, null), null)));
+    }
+
+    @Test
+    public void testBulkShiftDueDateRequiresShift() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.bulkUpdateTasks(
+                new TaskBulkRequest(TaskBulkAction.SHIFT_DUE_DATE, List.of(1L), null, null)));
+    }
+
+    @Test
+    public void testUpdateTask() {
         TaskRequest update = new TaskRequest("New", "New Desc", LocalDateTime.now().plusDays(2));
         Task updated = new Task();
         updated.setId(1L);
         updated.setTitle("New");
         updated.setDescription("New Desc");
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(existing));
-        when(taskRepository.save(any(Task.class))).thenReturn(updated);
+        when(taskRepository.updateReturning(eq(1L), eq("New"), eq("New Desc"), eq(update.dueDate()),
+                isNull(), any(LocalDateTime.class))).thenReturn(Optional.of(updated));
 
-        TaskResponse response = taskService.updateTask(1L, update);
+        TaskResponse response = taskService.updateTask(1L, update, null);
 
         assertEquals("New", response.title());
         assertEquals("New Desc", response.description());
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskSuggestionService).evict(updated.getCreatedByUserId());
+        verify(taskEventOutbox).recordUpdated(updated);
+        verify(taskReminderScheduler).taskSaved(updated);
+    }
+
+    @Test
+    public void testUpdateTaskSkipsBlankFields() {
+        TaskRequest update = new TaskRequest("New", " ", null);
+        Task updated = new Task();
+        updated.setId(1L);
+        updated.setTitle("New");
+        updated.setDescription("Old Desc");
+
+        when(taskRepository.updateReturning(eq(1L), eq("New"), isNull(), isNull(), isNull(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(updated));
+
+        TaskResponse response = taskService.updateTask(1L, update, null);
+
+        assertEquals("Old Desc", response.description());
+        verify(taskReminderScheduler, never()).taskSaved(any());
     }
 
     @Test
     public void testUpdateTaskNotFound() {
         TaskRequest request = new TaskRequest("New", "New Desc", LocalDateTime.now().plusDays(1));
-        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
-        assertThrows(ResourceNotFoundException.class, () -> taskService.updateTask(1L, request));
+        when(taskRepository.updateReturning(eq(1L), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> taskService.updateTask(1L, request, null));
+        verify(taskEventOutbox, never()).recordUpdated(any(Task.class));
+    }
+
+    @Test
+    public void testUpdateTaskWithMatchingVersion() {
+        TaskRequest request = new TaskRequest("New", null, null);
+        Task updated = new Task();
+        updated.setId(1L);
+        updated.setTitle("New");
+        updated.setVersion(4L);
+        when(taskRepository.updateReturning(eq(1L), eq("New"), isNull(), isNull(), eq(3L), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(updated));
+
+        assertEquals(4L, taskService.updateTask(1L, request, 3L).version());
+    }
+
+    @Test
+    public void testUpdateTaskWithStaleVersionFailsPrecondition() {
+        TaskRequest request = new TaskRequest("New", null, null);
+        when(taskRepository.updateReturning(eq(1L), any(), any(), any(), eq(3L), any())).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> taskService.updateTask(1L, request, 3L));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, e.getStatusCode());
+        verify(taskEventOutbox, never()).recordUpdated(any(Task.class));
+    }
+
+    @Test
+    public void testUpdateMissingTaskWithVersionIsNotFound() {
+        TaskRequest request = new TaskRequest("New", null, null);
+        when(taskRepository.updateReturning(eq(1L), any(), any(), any(), eq(3L), any())).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.updateTask(1L, request, 3L));
+    }
+
+    @Test
+    public void testEmptyUpdateStillChecksVersion() {
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> taskService.updateTask(1L, new TaskRequest(" ", null, null), 3L));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, e.getStatusCode());
+        verify(taskRepository, never()).updateReturning(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testPatchTaskWritesOnlySuppliedFields() {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("description", null);
+        columns.put("completed", true);
+        Task patched = new Task();
+        patched.setId(1L);
+        patched.setTitle("Title");
+        patched.setCompleted(true);
+        patched.setVersion(4L);
+        when(taskRepository.patchReturning(eq(1L), eq(columns), eq(3L), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(patched));
+
+        TaskResponse response = taskService.patchTask(1L, new TaskMergePatch(columns, null), 3L);
+
+        assertEquals(4L, response.version());
+        assertTrue(response.completed());
+        verify(taskEventOutbox).recordUpdated(patched);
+        verify(taskReminderScheduler).taskSaved(patched);
+        verify(taskSuggestionService, never()).evict(any());
+    }
+
+    @Test
+    public void testPatchTaskTakesVersionFromTheBody() {
+        Task patched = new Task();
+        patched.setId(1L);
+        patched.setTitle("New");
+        when(taskRepository.patchReturning(eq(1L), eq(Map.of("title", "New")), eq(3L), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(patched));
+
+        taskService.patchTask(1L, new TaskMergePatch(Map.of("title", "New"), 3L), null);
+
+        verify(taskSuggestionService).evict(patched.getCreatedByUserId());
+    }
+
+    @Test
+    public void testPatchTaskRequiresVersion() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> taskService.patchTask(1L, new TaskMergePatch(Map.of("title", "New"), null), null));
+        assertEquals(HttpStatus.PRECONDITION_REQUIRED, e.getStatusCode());
+        verify(taskRepository, never()).patchReturning(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    public void testPatchTaskWithConflictingVersionsFailsPrecondition() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> taskService.patchTask(1L, new TaskMergePatch(Map.of("title", "New"), 2L), 3L));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, e.getStatusCode());
+        verify(taskRepository, never()).patchReturning(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    public void testPatchTaskWithStaleVersionFailsPrecondition() {
+        when(taskRepository.patchReturning(eq(1L), any(), eq(3L), any())).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> taskService.patchTask(1L, new TaskMergePatch(Map.of("title", "New"), null), 3L));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, e.getStatusCode());
+        verify(taskEventOutbox, never()).recordUpdated(any(Task.class));
+    }
+
+    @Test
+    public void testPatchMissingTaskIsNotFound() {
+        when(taskRepository.patchReturning(eq(1L), any(), eq(3L), any())).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.patchTask(1L, new TaskMergePatch(Map.of("title", "New"), null), 3L));
+    }
+
+    @Test
+    public void testUserTaskPagesAreCachedUnderTheListVersion() {
+        when(securityHelper.getCurrentUser()).thenReturn(UserDto.builder().id(1L).build());
+        when(taskRepository.findListVersion(1L)).thenReturn("42");
+        stubFindBy(List.of());
+
+        String listVersion = taskService.getUserTasksVersion();
+        taskService.getUserTasks("user", TaskQuery.unfiltered(), 10, null, listVersion);
+
+        assertEquals("42", listVersion);
+        verify(taskListCache).get(eq(1L), endsWith("|42"), any());
+    }
+
+    @Test
+    public void testGetTasksReturnsResultsInRequestOrder() {
+        when(securityHelper.getCurrentUser()).thenReturn(UserDto.builder().id(1L).username("user").build());
+        when(taskRepository.findOwnedByIds(new Long[]{7L, 5L, 9L}, 1L))
+                .thenReturn(List.of(taskCreatedAt(5L, LocalDateTime.now()), taskCreatedAt(7L, LocalDateTime.now())));
+
+        TaskMultiGetResponse response = taskService.getTasks(List.of(7L, 5L, 9L, 7L));
+
+        assertEquals(List.of(7L, 5L, 9L, 7L), response.results().stream().map(TaskMultiGetResponse.Result::id).toList());
+        assertEquals(List.of(true, true, false, true),
+                response.results().stream().map(TaskMultiGetResponse.Result::found).toList());
+        assertNull(response.results().get(2).task());
+        assertEquals("user", response.results().get(0).task().createdBy());
+        verify(taskRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    public void testGetTaskChangesFirstSyncReturnsTasksWithoutDeletes() {
+        when(securityHelper.getCurrentUser()).thenReturn(UserDto.builder().id(1L).build());
+        when(taskRepository.findChanges(1L, 0, 0, false, 3))
+                .thenReturn(List.of(new Change(5L, 100, false), new Change(6L, 101, false), new Change(7L, 102, false)));
+        when(taskRepository.findAllById(List.of(5L, 6L)))
+                .thenReturn(List.of(taskCreatedAt(6L, LocalDateTime.now()), taskCreatedAt(5L, LocalDateTime.now())));
+
+        TaskChangesResponse response = taskService.getTaskChanges(null, 2);
+
+        assertEquals(List.of(5L, 6L), response.upserts().stream().map(TaskResponse::id).toList());
+        assertTrue(response.deletedIds().isEmpty());
+        assertTrue(response.hasMore());
+        TaskChangeToken next = TaskChangeToken.decode(response.nextToken());
+        assertEquals(101, next.changeSeq());
+        assertEquals(6L, next.id());
+    }
+
+    @Test
+    public void testGetTaskChangesSinceTokenReturnsUpsertsAndTombstones() {
+        String since = new TaskChangeToken(100, 5L, LocalDateTime.now().minusDays(1)).encode();
+        when(securityHelper.getCurrentUser()).thenReturn(UserDto.builder().id(1L).build());
+        when(taskRepository.findChanges(1L, 100, 5L, true, 51))
+                .thenReturn(List.of(new Change(7L, 103, true), new Change(6L, 104, false), new Change(8L, 105, false)));
+        // Task 8 was deleted after the feed was read
+        when(taskRepository.findAllById(List.of(6L, 8L))).thenReturn(List.of(taskCreatedAt(6L, LocalDateTime.now())));
+
+        TaskChangesResponse response = taskService.getTaskChanges(since, 50);
+
+        assertEquals(List.of(6L), response.upserts().stream().map(TaskResponse::id).toList());
+        assertEquals(List.of(7L), response.deletedIds());
+        assertFalse(response.hasMore());
+        assertEquals(105, TaskChangeToken.decode(response.nextToken()).changeSeq());
+    }
+
+    @Test
+    public void testGetTaskChangesWithoutNewChangesKeepsPosition() {
+        String since = new TaskChangeToken(100, 5L, LocalDateTime.now().minusDays(1)).encode();
+        when(securityHelper.getCurrentUser()).thenReturn(UserDto.builder().id(1L).build());
+        when(taskRepository.findChanges(1L, 100, 5L, true, 51)).thenReturn(List.of());
+
+        TaskChangesResponse response = taskService.getTaskChanges(since, 50);
+
+        TaskChangeToken next = TaskChangeToken.decode(response.nextToken());
+        assertEquals(100, next.changeSeq());
+        assertEquals(5L, next.id());
+        assertTrue(next.issuedAt().isAfter(LocalDateTime.now().minusMinutes(1)));
+    }
+
+    @Test
+    public void testGetTaskChangesKeepsTokenAgeUntilTheLastPage() {
+        LocalDateTime issuedAt = LocalDateTime.now().minusDays(29);
+        String since = new TaskChangeToken(100, 5L, issuedAt).encode();
+        when(securityHelper.getCurrentUser()).thenReturn(UserDto.builder().id(1L).build());
+        when(taskRepository.findChanges(1L, 100, 5L, true, 2))
+                .thenReturn(List.of(new Change(7L, 103, true), new Change(8L, 104, true)));
+
+        TaskChangesResponse firstPage = taskService.getTaskChanges(since, 1);
+
+        assertTrue(firstPage.hasMore());
+        TaskChangeToken next = TaskChangeToken.decode(firstPage.nextToken());
+        assertEquals(103, next.changeSeq());
+        assertEquals(issuedAt, next.issuedAt());
+
+        // Tombstones the client has not read yet get purged before it asks for the next page
+        taskChangesProperties.setTombstoneRetention(Duration.ofDays(28));
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> taskService.getTaskChanges(firstPage.nextToken(), 1));
+        assertEquals(HttpStatus.GONE, ex.getStatusCode());
+    }
+
+    @Test
+    public void testGetTaskChangesRenewsTokenOnTheLastPage() {
+        String since = new TaskChangeToken(100, 5L, LocalDateTime.now().minusDays(29)).encode();
+        when(securityHelper.getCurrentUser()).thenReturn(UserDto.builder().id(1L).build());
+        when(taskRepository.findChanges(1L, 100, 5L, true, 2)).thenReturn(List.of(new Change(7L, 103, true)));
+
+        TaskChangesResponse lastPage = taskService.getTaskChanges(since, 1);
+
+        assertFalse(lastPage.hasMore());
+        assertTrue(TaskChangeToken.decode(lastPage.nextToken()).issuedAt().isAfter(LocalDateTime.now().minusMinutes(1)));
+    }
+
+    @Test
+    public void testGetTaskChangesRejectsExpiredToken() {
+        String since = new TaskChangeToken(100, 5L, LocalDateTime.now().minusDays(31)).encode();
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> taskService.getTaskChanges(since, 50));
+        assertEquals(HttpStatus.GONE, e.getStatusCode());
+        verify(taskRepository, never()).findChanges(any(), anyLong(), anyLong(), anyBoolean(), anyInt());
+    }
+
+    @Test
+    public void testGetTaskChangesRejectsInvalidToken() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTaskChanges("not-a-token", 50));
+    }
+
+    @SuppressWarnings("unchecked")
+    private SpecificationFluentQuery<Task> stubFindBy(List<Task> result) {
+        SpecificationFluentQuery<Task> fluentQuery = mock(SpecificationFluentQuery.class);
+        when(fluentQuery.sortBy(any(Sort.class))).thenReturn(fluentQuery);
+        when(fluentQuery.limit(anyInt())).thenReturn(fluentQuery);
+        when(fluentQuery.all()).thenReturn(result);
+        when(taskRepository.findBy(any(Specification.class), any())).thenAnswer(invocation -> {
+            Function<SpecificationFluentQuery<Task>, List<Task>> queryFunction = invocation.getArgument(1);
+            return queryFunction.apply(fluentQuery);
+        });
+        return fluentQuery;
+    }
+
+    private List<Task> ownedTasks(Long... ids) {
+        return Arrays.stream(ids).map(id -> {
+            Task task = new Task();
+            task.setId(id);
+            task.setTitle("Task" + id);
+            task.setCreatedByUserId(1L);
+            return task;
+        }).toList();
+    }
+
+    private Task taskCreatedAt(Long id, LocalDateTime createdAt) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task" + id);
+        task.setCreatedAt(createdAt);
+        return task;
     }
-}
\ No newline at end of file
+}
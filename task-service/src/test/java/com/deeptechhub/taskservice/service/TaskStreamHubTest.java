@@ -0,0 +1,196 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.taskservice.config.TaskStreamProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskStreamHubTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskStreamProperties properties = new TaskStreamProperties();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private TaskStreamHub taskStreamHub;
+
+    @BeforeEach
+    public void setup() {
+        taskStreamHub = new TaskStreamHub(properties, meterRegistry, () -> {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        }, executor);
+        taskStreamHub.startFrom(RecordId.of("1-0"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskStreamHub.shutdown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testDeliversEventsOnlyToTheOwner() throws Exception {
+        RecordingEmitter owner = (RecordingEmitter) taskStreamHub.subscribe(7L, null);
+        RecordingEmitter other = (RecordingEmitter) taskStreamHub.subscribe(8L, null);
+
+        taskStreamHub.publish(RecordId.of("2-0"), 7L, "created", "{\"id\":10}");
+        taskStreamHub.publish(RecordId.of("3-0"), 7L, "deleted", "{\"id\":10}");
+
+        owner.awaitEvents(2);
+        assertEquals(List.of("2-0 created {\"id\":10}", "3-0 deleted {\"id\":10}"), owner.events);
+        assertTrue(other.events.isEmpty());
+    }
+
+    @Test
+    public void testReplaysEventsAfterLastEventId() throws Exception {
+        taskStreamHub.publish(RecordId.of("2-0"), 7L, "created", "{\"id\":10}");
+        taskStreamHub.publish(RecordId.of("3-0"), 8L, "created", "{\"id\":11}");
+        taskStreamHub.publish(RecordId.of("4-0"), 7L, "updated", "{\"id\":10}");
+
+        RecordingEmitter emitter = (RecordingEmitter) taskStreamHub.subscribe(7L, "2-0");
+        taskStreamHub.publish(RecordId.of("5-0"), 7L, "deleted", "{\"id\":10}");
+
+        emitter.awaitEvents(2);
+        assertEquals(List.of("4-0 updated {\"id\":10}", "5-0 deleted {\"id\":10}"), emitter.events);
+    }
+
+    @Test
+    public void testSendsResyncWhenMissedEventsAreGone() throws Exception {
+        properties.setResumeBufferSize(2);
+        taskStreamHub.publish(RecordId.of("2-0"), 7L, "created", "{\"id\":10}");
+        taskStreamHub.publish(RecordId.of("3-0"), 7L, "updated", "{\"id\":10}");
+        taskStreamHub.publish(RecordId.of("4-0"), 7L, "updated", "{\"id\":10}");
+
+        RecordingEmitter behind = (RecordingEmitter) taskStreamHub.subscribe(7L, "1-0");
+        RecordingEmitter invalid = (RecordingEmitter) taskStreamHub.subscribe(7L, "not-an-id");
+
+        behind.awaitEvents(1);
+        invalid.awaitEvents(1);
+        assertEquals(List.of("4-0 resync {}"), behind.events);
+        assertEquals(List.of("4-0 resync {}"), invalid.events);
+        assertEquals(2, meterRegistry.counter("task.stream.resyncs").count());
+    }
+
+    @Test
+    public void testEvictsSubscriberThatFallsBehind() throws Exception {
+        properties.setSubscriberQueueSize(2);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = (RecordingEmitter) taskStreamHub.subscribe(7L, null);
+        slow.blockUntil = release;
+
+        // The first event is stuck in send, the next two fill the queue and the fourth does not fit
+        for (int i = 2; i <= 5; i++) {
+            taskStreamHub.publish(RecordId.of(i + "-0"), 7L, "updated", "{\"id\":10}");
+            if(i == 2) {
+                slow.awaitSending();
+            }
+        }
+
+        assertEquals(0, taskStreamHub.subscriberCount());
+        assertEquals(1, meterRegistry.counter("task.stream.evictions").count());
+        release.countDown();
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testNewSubscriberDisplacesOldestOfTheSameUser() throws Exception {
+        properties.setMaxSubscribersPerUser(1);
+        RecordingEmitter first = (RecordingEmitter) taskStreamHub.subscribe(7L, null);
+        RecordingEmitter second = (RecordingEmitter) taskStreamHub.subscribe(7L, null);
+
+        assertTrue(first.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, taskStreamHub.subscriberCount());
+        taskStreamHub.publish(RecordId.of("2-0"), 7L, "created", "{\"id\":10}");
+        second.awaitEvents(1);
+        assertTrue(first.events.isEmpty());
+    }
+
+    @Test
+    public void testRefusesSubscribersBeyondTheLimit() {
+        properties.setMaxSubscribers(1);
+        taskStreamHub.subscribe(7L, null);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> taskStreamHub.subscribe(8L, null));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+    }
+
+    /**
+     * Records the events sent instead of writing them to a response.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile CountDownLatch blockUntil;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            String text = builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .collect(Collectors.joining());
+            if(text.startsWith(":")) {
+                return; // Heartbeat comment
+            }
+            sending.countDown();
+            if(blockUntil != null) {
+                try {
+                    blockUntil.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(format(text));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        private void awaitSending() throws InterruptedException {
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+        }
+
+        private void awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while(events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(count, events.size());
+        }
+
+        // "id:2-0\nevent:created\ndata:{...}\n\n" becomes "2-0 created {...}"
+        private static String format(String text) {
+            String id = "", name = "", data = "";
+            for (String line : text.split("\n")) {
+                if(line.startsWith("id:")) {
+                    id = line.substring(3);
+                } else if(line.startsWith("event:")) {
+                    name = line.substring(6);
+                } else if(line.startsWith("data:")) {
+                    data = line.substring(5);
+                }
+            }
+            return id + " " + name + " " + data;
+        }
+    }
+}
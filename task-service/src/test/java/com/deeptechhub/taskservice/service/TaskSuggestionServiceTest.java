@@ -0,0 +1,117 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.common.dto.UserDto;
+import com.deeptechhub.taskservice.config.TaskSuggestProperties;
+import com.deeptechhub.taskservice.repository.TaskRepository;
+import com.deeptechhub.taskservice.security.SecurityHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TaskSuggestionServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private SecurityHelper securityHelper;
+
+    private TaskSuggestionService taskSuggestionService;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        TaskSuggestProperties properties = new TaskSuggestProperties();
+        properties.setMaxResults(3);
+        taskSuggestionService = new TaskSuggestionService(taskRepository, securityHelper, properties);
+
+        UserDto user = new UserDto();
+        user.setId(1L);
+        when(securityHelper.getCurrentUser()).thenReturn(user);
+    }
+
+    @Test
+    public void testStartingTitlesFillingTheLimitSkipContainingQuery() {
+        when(taskRepository.findTitlesStartingWith(1L, "rep", "req", 3))
+                .thenReturn(List.of("Reply", "Report", "Report draft"));
+
+        assertEquals(List.of("Reply", "Report", "Report draft"), taskSuggestionService.suggestTitles(" REP"));
+        verify(taskRepository, never()).findTitlesContaining(anyLong(), anyString(), anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    public void testContainingTitlesFollowStartingTitles() {
+        when(taskRepository.findTitlesStartingWith(1L, "rep", "req", 3)).thenReturn(List.of("Report"));
+        when(taskRepository.findTitlesContaining(1L, "%rep%", "rep", "req", 8))
+                .thenReturn(List.of("Quarterly report", "Annual report", "Quarterly report"));
+
+        assertEquals(List.of("Report", "Annual report", "Quarterly report"), taskSuggestionService.suggestTitles("rep"));
+    }
+
+    @Test
+    public void testLongerPrefixIsServedFromCompleteCachedResult() {
+        when(taskRepository.findTitlesStartingWith(1L, "rep", "req", 3)).thenReturn(List.of("Reply"));
+        when(taskRepository.findTitlesContaining(1L, "%rep%", "rep", "req", 8)).thenReturn(List.of("Quarterly report"));
+        taskSuggestionService.suggestTitles("rep");
+
+        assertEquals(List.of("Quarterly report"), taskSuggestionService.suggestTitles("repo"));
+        assertEquals(List.of(), taskSuggestionService.suggestTitles("repx"));
+        verify(taskRepository, times(1)).findTitlesStartingWith(anyLong(), anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    public void testTruncatedResultIsNotReusedForLongerPrefix() {
+        when(taskRepository.findTitlesStartingWith(1L, "rep", "req", 3)).thenReturn(List.of("Reply", "Report", "Repost"));
+        when(taskRepository.findTitlesStartingWith(1L, "repo", "repp", 3)).thenReturn(List.of("Report", "Repost"));
+        when(taskRepository.findTitlesContaining(1L, "%repo%", "repo", "repp", 4)).thenReturn(List.of());
+        taskSuggestionService.suggestTitles("rep");
+
+        assertEquals(List.of("Report", "Repost"), taskSuggestionService.suggestTitles("repo"));
+        verify(taskRepository).findTitlesStartingWith(1L, "repo", "repp", 3);
+    }
+
+    @Test
+    public void testShortPrefixOnlyMatchesTitleStartAndIsNotReusedForContainingMatches() {
+        when(taskRepository.findTitlesStartingWith(1L, "re", "rf", 3)).thenReturn(List.of("Reply"));
+        when(taskRepository.findTitlesStartingWith(1L, "rep", "req", 3)).thenReturn(List.of("Reply"));
+        when(taskRepository.findTitlesContaining(1L, "%rep%", "rep", "req", 8)).thenReturn(List.of("Quarterly report"));
+
+        assertEquals(List.of("Reply"), taskSuggestionService.suggestTitles("re"));
+        assertEquals(List.of("Reply", "Quarterly report"), taskSuggestionService.suggestTitles("rep"));
+        verify(taskRepository, times(1)).findTitlesContaining(anyLong(), anyString(), anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    public void testEvictReloadsFromDatabase() {
+        when(taskRepository.findTitlesStartingWith(1L, "re", "rf", 3)).thenReturn(List.of("Reply"));
+        taskSuggestionService.suggestTitles("re");
+        taskSuggestionService.evict(1L);
+        taskSuggestionService.suggestTitles("re");
+
+        verify(taskRepository, times(2)).findTitlesStartingWith(1L, "re", "rf", 3);
+    }
+
+    @Test
+    public void testBlankPrefixReturnsNothing() {
+        assertEquals(List.of(), taskSuggestionService.suggestTitles("  "));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    public void testTooLongPrefixIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> taskSuggestionService.suggestTitles("x".repeat(256)));
+    }
+
+    @Test
+    public void testSuccessorIncrementsLastCodePoint() {
+        assertEquals("req", TaskSuggestionService.successor("rep"));
+        assertEquals("a\uE000", TaskSuggestionService.successor("a\uD7FF"));
+        assertEquals("\uD83D\uDE01", TaskSuggestionService.successor("\uD83D\uDE00"));
+    }
+}
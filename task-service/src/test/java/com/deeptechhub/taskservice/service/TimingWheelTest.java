@@ -0,0 +1,92 @@
+package com.deeptechhub.taskservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    // 10 ms ticks, 8 buckets per level: level 0 turns in 80 ms, level 1 in 640 ms, level 2 in 5120 ms
+    private final TimingWheel<String> wheel = new TimingWheel<>(10, 8, 3, 1_000);
+
+    @Test
+    public void testFiresOnTheFirstTickAtOrAfterExpiration() {
+        wheel.schedule("a", 1_025);
+
+        assertEquals(List.of(), advance(1_029));
+        assertEquals(List.of("a"), advance(1_030));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCascadesTimersFromHigherLevels() {
+        wheel.schedule("level0", 1_050);
+        wheel.schedule("level1", 1_300);
+        wheel.schedule("level2", 4_000);
+
+        assertEquals(List.of("level0"), advance(1_299));
+        assertEquals(List.of("level1"), advance(3_999));
+        assertEquals(List.of("level2"), advance(4_000));
+    }
+
+    @Test
+    public void testKeepsTimersBeyondTheTopLevelUntilTheyExpire() {
+        wheel.schedule("far", 60_000);
+
+        assertEquals(List.of(), advance(59_990));
+        assertEquals(List.of("far"), advance(60_000));
+    }
+
+    @Test
+    public void testCancelAndReschedule() {
+        wheel.schedule("cancelled", 1_100);
+        wheel.schedule("moved", 1_100);
+        wheel.schedule("moved", 2_000);
+
+        assertTrue(wheel.cancel("cancelled"));
+        assertFalse(wheel.cancel("unknown"));
+        assertEquals(List.of(), advance(1_990));
+        assertEquals(List.of("moved"), advance(2_000));
+    }
+
+    @Test
+    public void testPastExpirationFiresOnTheNextTick() {
+        wheel.schedule("late", 500);
+
+        assertEquals(List.of("late"), advance(1_010));
+    }
+
+    @Test
+    public void testMatchesSortedTimersForRandomSchedules() {
+        Random random = new Random(42);
+        TreeMap<Long, List<String>> expected = new TreeMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            long expiration = 1_000 + 10 * (1 + random.nextInt(2_000)); // Multiples of the tick, up to 20 s ahead
+            wheel.schedule("t" + i, expiration);
+            expected.computeIfAbsent(expiration, key -> new ArrayList<>()).add("t" + i);
+        }
+
+        // Timers expiring within the same tick may fire in any order
+        long now = 1_000;
+        while(!expected.isEmpty()) {
+            now += 1 + random.nextInt(200);
+            List<String> fired = advance(now);
+            List<String> due = new ArrayList<>();
+            expected.headMap(now, true).values().forEach(due::addAll);
+            expected.headMap(now, true).clear();
+            assertEquals(due.stream().sorted().toList(), fired.stream().sorted().toList(), "at " + now);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    private List<String> advance(long nowMillis) {
+        List<String> fired = new ArrayList<>();
+        wheel.advance(nowMillis, fired::add);
+        return fired;
+    }
+}
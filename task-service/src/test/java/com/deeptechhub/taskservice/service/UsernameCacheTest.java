@@ -0,0 +1,87 @@
+package com.deeptechhub.taskservice.service;
+
+import com.deeptechhub.common.dto.UserDto;
+import com.deeptechhub.taskservice.client.IdentityServiceClient;
+import com.deeptechhub.taskservice.config.UsernameCacheProperties;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class UsernameCacheTest {
+
+    @Mock
+    private IdentityServiceClient identityServiceClient;
+
+    private UsernameCache usernameCache;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        usernameCache = new UsernameCache(identityServiceClient, new UsernameCacheProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void testDistinctMissingIdsAreResolvedInOneCall() {
+        when(identityServiceClient.getUsersByIds(anyList())).thenReturn(List.of(user(1L, "alice"), user(2L, "bob")));
+
+        assertEquals(Map.of(1L, "alice", 2L, "bob"), usernameCache.getUsernames(List.of(1L, 2L, 1L, 2L)));
+
+        verify(identityServiceClient, times(1)).getUsersByIds(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1L, 2L))));
+    }
+
+    @Test
+    public void testOnlyUncachedIdsAreRequested() {
+        when(identityServiceClient.getUsersByIds(List.of(1L))).thenReturn(List.of(user(1L, "alice")));
+        when(identityServiceClient.getUsersByIds(List.of(2L))).thenReturn(List.of(user(2L, "bob")));
+        usernameCache.getUsernames(List.of(1L));
+
+        assertEquals(Map.of(1L, "alice", 2L, "bob"), usernameCache.getUsernames(List.of(1L, 2L)));
+        assertEquals("alice", usernameCache.getUsername(1L));
+
+        verify(identityServiceClient).getUsersByIds(List.of(2L));
+        verify(identityServiceClient, times(2)).getUsersByIds(anyList());
+    }
+
+    @Test
+    public void testUnknownUsersAreLeftOutAndNotCached() {
+        when(identityServiceClient.getUsersByIds(List.of(9L))).thenReturn(List.of());
+
+        assertNull(usernameCache.getUsername(9L));
+        assertNull(usernameCache.getUsername(9L));
+
+        verify(identityServiceClient, times(2)).getUsersByIds(List.of(9L));
+    }
+
+    @Test
+    public void testIdentityServiceFailureLeavesUsernamesOut() {
+        Request request = Request.create(Request.HttpMethod.POST, "/api/users/batch", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        when(identityServiceClient.getUsersByIds(anyList())).thenThrow(FeignException.errorStatus("getUsersByIds",
+                Response.builder().status(503).reason("error").request(request).headers(Map.of()).build()));
+
+        assertEquals(Map.of(), usernameCache.getUsernames(List.of(1L)));
+    }
+
+    @Test
+    public void testNoCallWithoutIds() {
+        assertEquals(Map.of(), usernameCache.getUsernames(List.of()));
+        verifyNoInteractions(identityServiceClient);
+    }
+
+    private UserDto user(Long id, String username) {
+        return UserDto.builder().id(id).username(username).build();
+    }
+}